@@ -0,0 +1,69 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+import com.edulearnorg.ltt.smeplanner.service.SmeActivityGroupService;
+
+/**
+ * {@link SmeActivityGroupService#processScheduleForGrouping} for schedules of random
+ * SMEs; every call adds to an existing or new grouping row
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ActivityGroupingBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    // Activities seeded by V2__seed_activities.sql
+    private static final long ACTIVITY_COUNT = 14;
+
+    private SmeActivityGroupService smeActivityGroupService;
+
+    private final Schedule[] schedules = new Schedule[SAMPLES];
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(PlannerState planner) {
+        smeActivityGroupService = planner.getBean(SmeActivityGroupService.class);
+        Random random = new Random(PlannerState.SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            LocalDate day = planner.getDataset().randomWorkingDay(random);
+            schedules[i] = new Schedule(
+                planner.getDataset().randomSme(random),
+                day,
+                day,
+                LocalTime.of(9, 0),
+                LocalTime.of(11, 0),
+                1 + (long) random.nextInt((int) ACTIVITY_COUNT),
+                null,
+                "Benchmark session"
+            );
+        }
+    }
+
+    @Benchmark
+    public void processScheduleForGrouping() {
+        smeActivityGroupService.processScheduleForGrouping(schedules[next++ & (SAMPLES - 1)]);
+    }
+}
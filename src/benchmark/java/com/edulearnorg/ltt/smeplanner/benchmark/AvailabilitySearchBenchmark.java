@@ -0,0 +1,86 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.edulearnorg.ltt.smeplanner.dto.UserAvailabilityResponse;
+import com.edulearnorg.ltt.smeplanner.dto.UserAvailabilitySearchRequest;
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+import com.edulearnorg.ltt.smeplanner.service.ScheduleService;
+
+/**
+ * Availability searches over one supervisor's team and over all SMEs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class AvailabilitySearchBenchmark {
+
+    private static final int SAMPLES = 64;
+
+    private static final int TEAM_SIZE = 20;
+
+    private ScheduleService scheduleService;
+
+    private final List<UserAvailabilitySearchRequest> teamSearches = new ArrayList<>();
+
+    private final List<UserAvailabilitySearchRequest> smeSearches = new ArrayList<>();
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(PlannerState planner) {
+        scheduleService = planner.getBean(ScheduleService.class);
+        Random random = new Random(PlannerState.SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            UserAvailabilitySearchRequest team = request(planner.getDataset(), random);
+            List<Long> userIds = new ArrayList<>(TEAM_SIZE);
+            for (int member = 0; member < TEAM_SIZE; member++) {
+                userIds.add(planner.getDataset().randomSme(random));
+            }
+            team.setUserIds(userIds);
+            teamSearches.add(team);
+
+            UserAvailabilitySearchRequest smes = request(planner.getDataset(), random);
+            smes.setRoles(List.of(UserRole.SME));
+            smeSearches.add(smes);
+        }
+    }
+
+    @Benchmark
+    public List<UserAvailabilityResponse> searchTeamAvailability() {
+        return scheduleService.searchUserAvailability(teamSearches.get(next++ & (SAMPLES - 1)));
+    }
+
+    @Benchmark
+    public List<UserAvailabilityResponse> searchAvailableSmes() {
+        return scheduleService.searchAvailableUsers(smeSearches.get(next++ & (SAMPLES - 1)));
+    }
+
+    private static UserAvailabilitySearchRequest request(SyntheticDataset dataset, Random random) {
+        UserAvailabilitySearchRequest request = new UserAvailabilitySearchRequest();
+        request.setDate(dataset.randomWorkingDay(random));
+        LocalTime fromTime = LocalTime.of(9 + random.nextInt(8), 0);
+        request.setFromTime(fromTime);
+        request.setToTime(fromTime.plusHours(1));
+        return request;
+    }
+}
@@ -0,0 +1,36 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code --name=value} arguments of the command line tools in this package
+ */
+final class CommandLineOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    CommandLineOptions(String[] args) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    long getLong(String name, long defaultValue) {
+        String value = values.get(name);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+}
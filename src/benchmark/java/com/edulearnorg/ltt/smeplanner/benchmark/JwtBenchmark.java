@@ -0,0 +1,56 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.edulearnorg.ltt.smeplanner.config.JwtUtil;
+import com.edulearnorg.ltt.smeplanner.config.TokenRevocationRegistry;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token generation and verification in {@link JwtUtil}; needs no database
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil(new TokenRevocationRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKeyForJWTTokenDevelopment123456789");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        token = jwtUtil.generateToken("john.doe@edulearnorg.com", 5L, "SME");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("john.doe@edulearnorg.com", 5L, "SME");
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+}
@@ -0,0 +1,343 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Replays a mix of logins, calendar reads, conflict checks, bulk creations and
+ * effort reports against a running application filled by {@link SyntheticDataLoader},
+ * then prints the throughput and the p50/p95/p99 latencies of every endpoint.
+ *
+ * Every thread logs in once as an SME and once as a supervisor of the synthetic
+ * data set and then sends requests back to back, choosing each by its weight in
+ * {@link Operation}. Requests finished during the warm-up are not counted. With the
+ * same seed every thread sends the same sequence of requests on every run.
+ *
+ * Options: {@code --base-url} (http://localhost:8080/ltt-sme-planner/v1),
+ * {@code --threads} (16), {@code --duration} and {@code --warmup} in seconds (60
+ * and 10), {@code --smes} and {@code --supervisors}, the number of synthetic
+ * accounts to log in as (1000 and 50), {@code --bulk-size} (10), {@code --seed}
+ * (42) and {@code --tag} (synthetic).
+ */
+public class LoadTest {
+
+    private static final DateTimeFormatter MONTH_YEAR_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private static final long ACTIVITY_ID = 1;
+
+    /**
+     * The replayed requests and their relative frequencies
+     */
+    enum Operation {
+        LOGIN("POST /auth/login", 5),
+        CALENDAR_PAGE("GET /schedules", 15),
+        CALENDAR_RANGE("GET /schedules/date-range", 25),
+        CHECK_CONFLICT("POST /schedules/check-conflict", 25),
+        BULK_CREATE("POST /schedules/bulk", 10),
+        EFFORT_REPORT("GET /supervisor/reportees/effort", 20);
+
+        private final String label;
+        private final int weight;
+
+        Operation(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    private final String baseUrl;
+    private final String tag;
+    private final int smeAccounts;
+    private final int supervisorAccounts;
+    private final int bulkSize;
+
+    LoadTest(String baseUrl, String tag, int smeAccounts, int supervisorAccounts, int bulkSize) {
+        this.baseUrl = baseUrl;
+        this.tag = tag;
+        this.smeAccounts = smeAccounts;
+        this.supervisorAccounts = supervisorAccounts;
+        this.bulkSize = bulkSize;
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        int threads = options.getInt("threads", 16);
+        long durationSeconds = options.getLong("duration", 60);
+        long warmupSeconds = options.getLong("warmup", 10);
+        long seed = options.getLong("seed", PlannerState.SEED);
+
+        LoadTest loadTest = new LoadTest(
+            options.get("base-url", "http://localhost:8080/ltt-sme-planner/v1"),
+            options.get("tag", "synthetic"),
+            options.getInt("smes", 1000),
+            options.getInt("supervisors", 50),
+            options.getInt("bulk-size", 10));
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupSeconds * 1_000_000_000L;
+        long measureUntil = measureFrom + durationSeconds * 1_000_000_000L;
+
+        System.out.printf("Running %d threads for %d s after a %d s warm-up against %s%n",
+            threads, durationSeconds, warmupSeconds, loadTest.baseUrl);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Recorder>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(seed + i);
+            int worker = i;
+            workers.add(executor.submit(() -> loadTest.run(worker, random, measureFrom, measureUntil)));
+        }
+
+        Recorder total = new Recorder();
+        for (Future<Recorder> worker : workers) {
+            total.addAll(worker.get());
+        }
+        executor.shutdown();
+        total.print(durationSeconds);
+    }
+
+    /**
+     * Send requests until the end of the run and return the latencies measured after the warm-up
+     */
+    Recorder run(int worker, Random random, long measureFrom, long measureUntil) throws IOException, InterruptedException {
+        Session sme = login(SyntheticDataGenerator.email("sme", worker % smeAccounts, tag));
+        Session supervisor = login(SyntheticDataGenerator.email("supervisor", worker % supervisorAccounts, tag));
+        Recorder recorder = new Recorder();
+
+        int totalWeight = Arrays.stream(Operation.values()).mapToInt(operation -> operation.weight).sum();
+        long now;
+        while ((now = System.nanoTime()) < measureUntil) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            boolean ok;
+            try {
+                ok = send(operation, random, sme, supervisor) / 100 == 2;
+            } catch (IOException e) {
+                ok = false;
+            }
+            long finished = System.nanoTime();
+            if (finished >= measureFrom) {
+                recorder.record(operation, finished - now, ok);
+            }
+        }
+        return recorder;
+    }
+
+    private static Operation pick(int point) {
+        for (Operation operation : Operation.values()) {
+            point -= operation.weight;
+            if (point < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weight out of range");
+    }
+
+    /**
+     * Send one request of the operation and return its status code
+     */
+    private int send(Operation operation, Random random, Session sme, Session supervisor)
+            throws IOException, InterruptedException {
+        LocalDate today = LocalDate.now();
+        switch (operation) {
+            case LOGIN:
+                return post("/auth/login", null,
+                    loginBody(SyntheticDataGenerator.email("sme", random.nextInt(smeAccounts), tag)));
+            case CALENDAR_PAGE:
+                return get("/schedules?size=50", sme.token);
+            case CALENDAR_RANGE: {
+                LocalDate from = today.plusDays(random.nextInt(57) - 28);
+                return get("/schedules/date-range?startDate=" + from + "&endDate=" + from.plusDays(6), sme.token);
+            }
+            case CHECK_CONFLICT: {
+                LocalDate day = today.plusDays(random.nextInt(57) - 28);
+                LocalTime from = LocalTime.of(8 + random.nextInt(9), 0);
+                return post("/schedules/check-conflict", sme.token, schedule(sme.userId, day, from));
+            }
+            case BULK_CREATE: {
+                // Far enough ahead to leave the synthetic data and the searches around today alone
+                ObjectNode body = OBJECT_MAPPER.createObjectNode();
+                ArrayNode schedules = body.putArray("schedules");
+                for (int i = 0; i < bulkSize; i++) {
+                    LocalDate day = today.plusYears(1).plusDays(random.nextInt(365));
+                    schedules.add(schedule(sme.userId, day, LocalTime.of(8 + random.nextInt(9), 0)));
+                }
+                body.put("skipConflicts", true);
+                return post("/schedules/bulk", sme.token, body);
+            }
+            case EFFORT_REPORT:
+                return get("/supervisor/reportees/effort/" + today.minusMonths(random.nextInt(2)).format(MONTH_YEAR_FORMATTER),
+                    supervisor.token);
+            default:
+                throw new IllegalStateException("Unknown operation: " + operation);
+        }
+    }
+
+    private Session login(String email) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(
+            request("/auth/login", null).POST(HttpRequest.BodyPublishers.ofByteArray(
+                OBJECT_MAPPER.writeValueAsBytes(loginBody(email)))).build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + email + " failed with status " + response.statusCode()
+                + "; load the synthetic data first");
+        }
+        JsonNode body = OBJECT_MAPPER.readTree(response.body());
+        return new Session(body.get("token").asText(), body.get("userId").asLong());
+    }
+
+    private static ObjectNode loginBody(String email) {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        body.put("email", email);
+        body.put("password", "password");
+        return body;
+    }
+
+    private static ObjectNode schedule(long userId, LocalDate day, LocalTime from) {
+        ObjectNode schedule = OBJECT_MAPPER.createObjectNode();
+        schedule.put("userId", userId);
+        schedule.put("fromDate", day.toString());
+        schedule.put("toDate", day.toString());
+        schedule.put("fromTime", from.toString());
+        schedule.put("toTime", from.plusHours(1).toString());
+        schedule.put("activityId", ACTIVITY_ID);
+        schedule.put("description", "Load test session");
+        return schedule;
+    }
+
+    private int get(String path, String token) throws IOException, InterruptedException {
+        return httpClient.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int post(String path, String token, JsonNode body) throws IOException, InterruptedException {
+        HttpRequest request = request(path, token)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body)))
+            .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static final class Session {
+        private final String token;
+        private final long userId;
+
+        Session(String token, long userId) {
+            this.token = token;
+            this.userId = userId;
+        }
+    }
+
+    /**
+     * Latencies in nanoseconds and error counts per operation
+     */
+    static final class Recorder {
+        private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> errors = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos, boolean ok) {
+            int count = counts.getOrDefault(operation, 0);
+            long[] values = latencies.computeIfAbsent(operation, key -> new long[1024]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+            if (!ok) {
+                errors.merge(operation, 1, Integer::sum);
+            }
+        }
+
+        void addAll(Recorder other) {
+            other.counts.forEach((operation, count) -> {
+                long[] values = other.latencies.get(operation);
+                for (int i = 0; i < count; i++) {
+                    record(operation, values[i], true);
+                }
+            });
+            other.errors.forEach((operation, count) -> errors.merge(operation, count, Integer::sum));
+        }
+
+        void print(long durationSeconds) {
+            String format = "%-34s %9s %7s %9s %9s %9s %9s %9s %9s%n";
+            System.out.printf(format, "Endpoint", "Requests", "Errors", "Req/s",
+                "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+            long[] all = new long[0];
+            int totalErrors = 0;
+            for (Operation operation : Operation.values()) {
+                int count = counts.getOrDefault(operation, 0);
+                if (count == 0) {
+                    continue;
+                }
+                long[] values = Arrays.copyOf(latencies.get(operation), count);
+                int operationErrors = errors.getOrDefault(operation, 0);
+                printRow(format, operation.label, values, operationErrors, durationSeconds);
+
+                int previous = all.length;
+                all = Arrays.copyOf(all, previous + count);
+                System.arraycopy(values, 0, all, previous, count);
+                totalErrors += operationErrors;
+            }
+            if (all.length > 0) {
+                printRow(format, "Total", all, totalErrors, durationSeconds);
+            }
+        }
+
+        private static void printRow(String format, String label, long[] values, int errors, long durationSeconds) {
+            Arrays.sort(values);
+            double mean = Arrays.stream(values).average().orElse(0);
+            System.out.printf(format, label, values.length, errors,
+                String.format("%.1f", (double) values.length / durationSeconds),
+                millis(mean), millis(percentile(values, 50)), millis(percentile(values, 95)),
+                millis(percentile(values, 99)), millis(values[values.length - 1]));
+        }
+
+        /**
+         * Nearest-rank percentile of sorted values
+         */
+        private static long percentile(long[] sorted, int percent) {
+            int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        private static String millis(double nanos) {
+            return String.format("%.2f", nanos / 1_000_000);
+        }
+    }
+}
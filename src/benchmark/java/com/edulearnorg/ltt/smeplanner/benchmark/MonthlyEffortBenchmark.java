@@ -0,0 +1,62 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.edulearnorg.ltt.smeplanner.dto.ConsolidatedMonthlyEffortResponse;
+import com.edulearnorg.ltt.smeplanner.service.MonthlyEffortService;
+
+/**
+ * Consolidated monthly effort reports for a supervisor's reportees and for all SMEs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class MonthlyEffortBenchmark {
+
+    private static final int SAMPLES = 64;
+
+    private MonthlyEffortService monthlyEffortService;
+
+    private final Long[] supervisorIds = new Long[SAMPLES];
+
+    private final String[] monthYears = new String[SAMPLES];
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(PlannerState planner) {
+        monthlyEffortService = planner.getBean(MonthlyEffortService.class);
+        Random random = new Random(PlannerState.SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            supervisorIds[i] = planner.getDataset().randomSupervisor(random);
+            monthYears[i] = planner.getDataset().randomMonthYear(random);
+        }
+    }
+
+    @Benchmark
+    public ConsolidatedMonthlyEffortResponse consolidateForSupervisor() {
+        int i = next++ & (SAMPLES - 1);
+        return monthlyEffortService.getConsolidatedMonthlyEffortDetails(supervisorIds[i], monthYears[i]);
+    }
+
+    @Benchmark
+    public ConsolidatedMonthlyEffortResponse consolidateForLead() {
+        return monthlyEffortService.getConsolidatedMonthlyEffortDetailsForLead(monthYears[next++ & (SAMPLES - 1)]);
+    }
+}
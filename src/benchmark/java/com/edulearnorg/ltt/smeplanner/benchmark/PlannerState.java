@@ -0,0 +1,59 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.edulearnorg.ltt.smeplanner.SmePlannerBackendApplication;
+
+/**
+ * The application started on the Flyway-migrated embedded H2 database of the
+ * {@code h2} profile and filled by {@link SyntheticDataGenerator}, shared by all threads of a trial.
+ * Scale it down for quick runs with {@code -p users=1000 -p schedules=100000}.
+ */
+@State(Scope.Benchmark)
+public class PlannerState {
+
+    static final long SEED = 42;
+
+    @Param("10000")
+    public int users;
+
+    @Param("1000000")
+    public int schedules;
+
+    private ConfigurableApplicationContext context;
+
+    private SyntheticDataset dataset;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        context = new SpringApplicationBuilder(SmePlannerBackendApplication.class)
+            .profiles("h2", "benchmark")
+            .logStartupInfo(false)
+            .run();
+        dataset = new SyntheticDataGenerator(context.getBean(DataSource.class), SEED).generate(users, schedules);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public SyntheticDataset getDataset() {
+        return dataset;
+    }
+}
@@ -0,0 +1,62 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.edulearnorg.ltt.smeplanner.service.ScheduleService;
+
+/**
+ * {@link ScheduleService#hasScheduleConflict} for random SMEs and working days
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ScheduleConflictBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private static final LocalTime FROM_TIME = LocalTime.of(10, 0);
+
+    private static final LocalTime TO_TIME = LocalTime.of(11, 0);
+
+    private ScheduleService scheduleService;
+
+    private final Long[] userIds = new Long[SAMPLES];
+
+    private final LocalDate[] days = new LocalDate[SAMPLES];
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(PlannerState planner) {
+        scheduleService = planner.getBean(ScheduleService.class);
+        Random random = new Random(PlannerState.SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            userIds[i] = planner.getDataset().randomSme(random);
+            days[i] = planner.getDataset().randomWorkingDay(random);
+        }
+    }
+
+    @Benchmark
+    public boolean hasScheduleConflict() {
+        int i = next++ & (SAMPLES - 1);
+        return scheduleService.hasScheduleConflict(userIds[i], days[i], days[i], FROM_TIME, TO_TIME);
+    }
+}
@@ -0,0 +1,333 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+/**
+ * Fills an empty planner database with synthetic users, schedules and SME activity
+ * groups through batched JDBC.
+ *
+ * Users form a hierarchy of a few leads, supervisors reporting to the leads in
+ * turn, and SMEs in teams of half to one and a half times {@link #TEAM_SIZE} under
+ * each supervisor. Every SME gets an equal share of the schedules: one to three
+ * non-overlapping sessions per working day, starting four weeks before the current
+ * week so that searches around today hit real data. The activity groups are the
+ * totals of the generated schedules, as the application itself would have recorded
+ * them. The same seed yields the same data.
+ *
+ * Emails are {@code <role>-<n>@<tag>.local}, for example {@code sme-0@synthetic.local},
+ * and every password is "password". A different tag lets another data set be added
+ * to the same database.
+ */
+public class SyntheticDataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int TEAM_SIZE = 20;
+
+    private static final int USERS_PER_LEAD = 1000;
+
+    // BCrypt hash of "password", as in the sample data
+    private static final String PASSWORD_HASH = "$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi";
+
+    // Daily windows [start hour, end hour) a session may fall in
+    private static final int[][] SESSION_WINDOWS = { { 9, 12 }, { 13, 15 }, { 15, 18 } };
+
+    private static final DateTimeFormatter MONTH_YEAR_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private static final String INSERT_USER_SQL =
+        "INSERT INTO users (name, email, password, role, supervisor_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SCHEDULE_SQL =
+        "INSERT INTO schedules " +
+        "(user_id, from_date, to_date, from_time, to_time, start_at, end_at, activity_id, activity_name, " +
+        "description, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_GROUP_SQL =
+        "INSERT INTO sme_activity_groups " +
+        "(sme_user_id, activity_id, category, total_hours_allocated, total_sessions, month_year, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+
+    private final Random random;
+
+    private final String tag;
+
+    public SyntheticDataGenerator(DataSource dataSource, long seed) {
+        this(dataSource, seed, "synthetic");
+    }
+
+    public SyntheticDataGenerator(DataSource dataSource, long seed, String tag) {
+        this.dataSource = dataSource;
+        this.random = new Random(seed);
+        this.tag = tag;
+    }
+
+    /**
+     * Email of the n-th generated user of a role ("lead", "supervisor" or "sme") for the given tag
+     */
+    public static String email(String prefix, int n, String tag) {
+        return prefix + "-" + n + "@" + tag + ".local";
+    }
+
+    /**
+     * Insert the given number of users and schedules and return what was generated
+     */
+    public SyntheticDataset generate(int userCount, int scheduleCount) throws SQLException {
+        int leadCount = Math.max(1, userCount / USERS_PER_LEAD);
+        int supervisorCount = Math.max(1, userCount / (TEAM_SIZE + 1));
+        int smeCount = userCount - leadCount - supervisorCount;
+        if (smeCount < 1) {
+            throw new IllegalArgumentException("At least " + (leadCount + supervisorCount + 1) + " users are needed");
+        }
+
+        LocalDate firstDay = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(4);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            List<Activity> activities = loadActivities(connection);
+
+            List<Long> leadIds = insertUsers(connection, "lead", "LEAD", leadCount, null);
+            List<Long> supervisorIds = insertUsers(connection, "supervisor", "SUPERVISOR", supervisorCount,
+                assignEvenly(supervisorCount, leadIds));
+            List<Long> smeIds = insertUsers(connection, "sme", "SME", smeCount,
+                assignTeams(smeCount, supervisorIds));
+
+            LocalDate lastDay = insertSchedules(connection, smeIds, scheduleCount, firstDay, activities);
+            connection.commit();
+
+            return new SyntheticDataset(leadIds, supervisorIds, smeIds, firstDay, lastDay);
+        }
+    }
+
+    private List<Activity> loadActivities(Connection connection) throws SQLException {
+        List<Activity> activities = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, name, category FROM activities ORDER BY id")) {
+            while (rows.next()) {
+                activities.add(new Activity(rows.getLong(1), rows.getString(2), rows.getString(3)));
+            }
+        }
+        if (activities.isEmpty()) {
+            throw new IllegalStateException("The activities table must be seeded first");
+        }
+        return activities;
+    }
+
+    /**
+     * Supervisor of each of {@code count} users, taking the candidates in turn
+     */
+    private static List<Long> assignEvenly(int count, List<Long> candidates) {
+        List<Long> assigned = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            assigned.add(candidates.get(i % candidates.size()));
+        }
+        return assigned;
+    }
+
+    /**
+     * Supervisor of each of {@code count} SMEs: consecutive SMEs fill one team of a
+     * random size around {@link #TEAM_SIZE} after another, starting over with the
+     * first supervisor if all teams are full
+     */
+    private List<Long> assignTeams(int count, List<Long> supervisorIds) {
+        List<Long> assigned = new ArrayList<>(count);
+        int supervisor = 0;
+        int teamSize = randomTeamSize();
+        for (int i = 0; i < count; i++) {
+            if (teamSize == 0) {
+                supervisor = (supervisor + 1) % supervisorIds.size();
+                teamSize = randomTeamSize();
+            }
+            assigned.add(supervisorIds.get(supervisor));
+            teamSize--;
+        }
+        return assigned;
+    }
+
+    private int randomTeamSize() {
+        return TEAM_SIZE / 2 + random.nextInt(TEAM_SIZE + 1);
+    }
+
+    /**
+     * Insert users in batches and return their generated IDs. With supervisors given,
+     * user i reports to the i-th of them.
+     */
+    private List<Long> insertUsers(Connection connection, String prefix, String role, int count,
+                                   List<Long> supervisorIds) throws SQLException {
+        List<Long> ids = new ArrayList<>(count);
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (int start = 0; start < count; start += BATCH_SIZE) {
+                int end = Math.min(start + BATCH_SIZE, count);
+                for (int i = start; i < end; i++) {
+                    statement.setString(1, "Synthetic " + prefix + " " + i);
+                    statement.setString(2, email(prefix, i, tag));
+                    statement.setString(3, PASSWORD_HASH);
+                    statement.setString(4, role);
+                    if (supervisorIds != null) {
+                        statement.setLong(5, supervisorIds.get(i));
+                    } else {
+                        statement.setNull(5, Types.BIGINT);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+            }
+        }
+        connection.commit();
+        return ids;
+    }
+
+    /**
+     * Insert each SME's share of the schedules day by day, followed by the SME's
+     * activity groups, and return the last day that received a schedule
+     */
+    private LocalDate insertSchedules(Connection connection, List<Long> smeIds, int scheduleCount,
+                                      LocalDate firstDay, List<Activity> activities) throws SQLException {
+        LocalDate lastDay = firstDay;
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement schedules = connection.prepareStatement(INSERT_SCHEDULE_SQL);
+             PreparedStatement groups = connection.prepareStatement(INSERT_GROUP_SQL)) {
+            Batch scheduleBatch = new Batch(connection, schedules);
+            Batch groupBatch = new Batch(connection, groups);
+
+            for (int sme = 0; sme < smeIds.size(); sme++) {
+                long userId = smeIds.get(sme);
+                int remaining = scheduleCount / smeIds.size() + (sme < scheduleCount % smeIds.size() ? 1 : 0);
+                Map<String, GroupTotals> totals = new LinkedHashMap<>();
+
+                for (LocalDate day = firstDay; remaining > 0; day = day.plusDays(1)) {
+                    if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                        continue;
+                    }
+                    int sessions = Math.min(remaining, 1 + random.nextInt(SESSION_WINDOWS.length));
+                    for (int window = 0; window < sessions; window++) {
+                        int startHour = SESSION_WINDOWS[window][0];
+                        int hours = 1 + random.nextInt(SESSION_WINDOWS[window][1] - startHour);
+                        Activity activity = activities.get(random.nextInt(activities.size()));
+                        LocalTime fromTime = LocalTime.of(startHour, 0);
+                        LocalTime toTime = fromTime.plusHours(hours);
+
+                        schedules.setLong(1, userId);
+                        schedules.setObject(2, day);
+                        schedules.setObject(3, day);
+                        schedules.setObject(4, fromTime);
+                        schedules.setObject(5, toTime);
+                        schedules.setObject(6, day.atTime(fromTime));
+                        schedules.setObject(7, day.atTime(toTime));
+                        schedules.setLong(8, activity.id);
+                        schedules.setString(9, activity.name);
+                        schedules.setString(10, "Synthetic session");
+                        schedules.setObject(11, now);
+                        schedules.setObject(12, now);
+                        scheduleBatch.add();
+
+                        totals.computeIfAbsent(day.format(MONTH_YEAR_FORMATTER) + ":" + activity.id,
+                            key -> new GroupTotals(activity, key.substring(0, 7))).add(hours);
+                    }
+                    remaining -= sessions;
+                    if (day.isAfter(lastDay)) {
+                        lastDay = day;
+                    }
+                }
+
+                for (GroupTotals group : totals.values()) {
+                    groups.setLong(1, userId);
+                    groups.setLong(2, group.activity.id);
+                    groups.setString(3, group.activity.category);
+                    groups.setDouble(4, group.hours);
+                    groups.setInt(5, group.sessions);
+                    groups.setString(6, group.monthYear);
+                    groups.setObject(7, now);
+                    groups.setObject(8, now);
+                    groupBatch.add();
+                }
+            }
+            scheduleBatch.flush();
+            groupBatch.flush();
+        }
+        return lastDay;
+    }
+
+    /**
+     * Statement batch that is executed and committed every {@link #BATCH_SIZE} rows
+     */
+    private static final class Batch {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private int size;
+
+        Batch(Connection connection, PreparedStatement statement) {
+            this.connection = connection;
+            this.statement = statement;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            if (++size == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (size > 0) {
+                statement.executeBatch();
+                connection.commit();
+                size = 0;
+            }
+        }
+    }
+
+    private static final class Activity {
+        private final long id;
+        private final String name;
+        private final String category;
+
+        Activity(long id, String name, String category) {
+            this.id = id;
+            this.name = name;
+            this.category = category;
+        }
+    }
+
+    private static final class GroupTotals {
+        private final Activity activity;
+        private final String monthYear;
+        private int sessions;
+        private double hours;
+
+        GroupTotals(Activity activity, String monthYear) {
+            this.activity = activity;
+            this.monthYear = monthYear;
+        }
+
+        void add(double sessionHours) {
+            sessions++;
+            hours += sessionHours;
+        }
+    }
+}
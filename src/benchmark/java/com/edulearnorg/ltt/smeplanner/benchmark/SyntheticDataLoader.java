@@ -0,0 +1,45 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.sql.SQLException;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Fills a planner database, by default the local MySQL database of the default
+ * profile, with {@link SyntheticDataGenerator}. The schema must be migrated, so
+ * start the application against it once first.
+ *
+ * Options: {@code --url}, {@code --user}, {@code --password} (default: the
+ * MYSQL_PASSWORD environment variable), {@code --users} (10000), {@code --schedules}
+ * (1000000), {@code --seed} (42) and {@code --tag} (synthetic).
+ */
+public class SyntheticDataLoader {
+
+    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/ltt-sme-planner"
+        + "?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true";
+
+    public static void main(String[] args) throws SQLException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        int users = options.getInt("users", 10000);
+        int schedules = options.getInt("schedules", 1000000);
+        String tag = options.get("tag", "synthetic");
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            options.get("url", DEFAULT_URL),
+            options.get("user", "root"),
+            options.get("password", System.getenv("MYSQL_PASSWORD")));
+
+        long started = System.nanoTime();
+        SyntheticDataset dataset = new SyntheticDataGenerator(dataSource, options.getLong("seed", PlannerState.SEED), tag)
+            .generate(users, schedules);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.printf("Generated %d leads, %d supervisors, %d SMEs and %d schedules from %s to %s in %d ms%n",
+            dataset.getLeadIds().size(), dataset.getSupervisorIds().size(), dataset.getSmeIds().size(),
+            schedules, dataset.getFirstDay(), dataset.getLastDay(), elapsedMillis);
+        System.out.printf("Log in as %s, %s or %s with password \"password\"%n",
+            SyntheticDataGenerator.email("sme", 0, tag),
+            SyntheticDataGenerator.email("supervisor", 0, tag),
+            SyntheticDataGenerator.email("lead", 0, tag));
+    }
+}
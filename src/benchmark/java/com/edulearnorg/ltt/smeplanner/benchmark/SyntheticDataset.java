@@ -0,0 +1,63 @@
+package com.edulearnorg.ltt.smeplanner.benchmark;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * IDs and date range of the data written by {@link SyntheticDataGenerator}
+ */
+public class SyntheticDataset {
+
+    private static final DateTimeFormatter MONTH_YEAR_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final List<Long> leadIds;
+    private final List<Long> supervisorIds;
+    private final List<Long> smeIds;
+    private final LocalDate firstDay;
+    private final LocalDate lastDay;
+
+    public SyntheticDataset(List<Long> leadIds, List<Long> supervisorIds, List<Long> smeIds,
+                            LocalDate firstDay, LocalDate lastDay) {
+        this.leadIds = List.copyOf(leadIds);
+        this.supervisorIds = List.copyOf(supervisorIds);
+        this.smeIds = List.copyOf(smeIds);
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+    }
+
+    public List<Long> getLeadIds() { return leadIds; }
+    public List<Long> getSupervisorIds() { return supervisorIds; }
+    public List<Long> getSmeIds() { return smeIds; }
+    public LocalDate getFirstDay() { return firstDay; }
+    public LocalDate getLastDay() { return lastDay; }
+
+    public Long randomSme(Random random) {
+        return smeIds.get(random.nextInt(smeIds.size()));
+    }
+
+    public Long randomSupervisor(Random random) {
+        return supervisorIds.get(random.nextInt(supervisorIds.size()));
+    }
+
+    /**
+     * A working day between the first and last generated day
+     */
+    public LocalDate randomWorkingDay(Random random) {
+        int days = (int) (lastDay.toEpochDay() - firstDay.toEpochDay()) + 1;
+        LocalDate day = firstDay.plusDays(random.nextInt(days));
+        while (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            day = day.minusDays(1);
+        }
+        return day;
+    }
+
+    /**
+     * The "YYYY-MM" of a month with generated schedules
+     */
+    public String randomMonthYear(Random random) {
+        return randomWorkingDay(random).format(MONTH_YEAR_FORMATTER);
+    }
+}
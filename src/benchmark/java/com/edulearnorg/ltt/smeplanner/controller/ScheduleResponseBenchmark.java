@@ -0,0 +1,75 @@
+package com.edulearnorg.ltt.smeplanner.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.edulearnorg.ltt.smeplanner.dto.ScheduleResponse;
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Conversion of a page of schedules to {@link ScheduleResponse}s in
+ * {@link ScheduleController}, alone and followed by JSON serialisation; needs no database
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ScheduleResponseBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final ScheduleController controller = new ScheduleController();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final List<Schedule> schedules = new ArrayList<>(PAGE_SIZE);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate day = LocalDate.of(2025, 7, 1);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Schedule schedule = new Schedule(5L, day.plusDays(i), day.plusDays(i), LocalTime.of(9, 0),
+                LocalTime.of(11, 0), 3L, "Blended Learning", "Blended learning session " + i);
+            schedule.setId((long) i + 1);
+            schedule.setCreatedAt(now);
+            schedule.setUpdatedAt(now);
+            schedules.add(schedule);
+        }
+    }
+
+    @Benchmark
+    public List<ScheduleResponse> convertToScheduleResponses() {
+        List<ScheduleResponse> responses = new ArrayList<>(PAGE_SIZE);
+        for (Schedule schedule : schedules) {
+            responses.add(controller.convertToScheduleResponse(schedule));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public byte[] convertAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(convertToScheduleResponses());
+    }
+}
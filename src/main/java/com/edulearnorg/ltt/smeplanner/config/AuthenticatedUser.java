@@ -0,0 +1,39 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import java.security.Principal;
+
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+
+/**
+ * Immutable principal for an authenticated request, built once by
+ * {@link JwtAuthenticationFilter} and resolved in controllers with {@link CurrentUser}
+ */
+public final class AuthenticatedUser implements Principal {
+
+    private final Long userId;
+    private final String email;
+    private final UserRole role;
+
+    public AuthenticatedUser(Long userId, String email, UserRole role) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
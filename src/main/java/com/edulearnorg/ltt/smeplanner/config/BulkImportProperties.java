@@ -0,0 +1,45 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "bulk-import")
+public class BulkImportProperties {
+    private int chunkSize = 500;
+    private int threads = 2;
+    private int queueCapacity = 100;
+    private int staleAfterMinutes = 5;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getStaleAfterMinutes() {
+        return staleAfterMinutes;
+    }
+
+    public void setStaleAfterMinutes(int staleAfterMinutes) {
+        this.staleAfterMinutes = staleAfterMinutes;
+    }
+}
@@ -0,0 +1,28 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "export")
+public class ExportProperties {
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time
+    private int fetchSize = Integer.MIN_VALUE;
+    private int maxMonths = 12;
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getMaxMonths() {
+        return maxMonths;
+    }
+
+    public void setMaxMonths(int maxMonths) {
+        this.maxMonths = maxMonths;
+    }
+}
@@ -12,9 +12,12 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.edulearnorg.ltt.smeplanner.entity.User;
-import com.edulearnorg.ltt.smeplanner.repository.UserRepository;
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+import com.edulearnorg.ltt.smeplanner.service.UserDirectory;
+import com.edulearnorg.ltt.smeplanner.service.UserDirectory.DirectoryUser;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,11 +27,16 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
+    private final JwtProperties jwtProperties;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
     
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDirectory userDirectory,
+                                   JwtProperties jwtProperties, TokenRevocationRegistry tokenRevocationRegistry) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.userDirectory = userDirectory;
+        this.jwtProperties = jwtProperties;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
     }
     
     @Override
@@ -46,39 +54,77 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String email = null;
+        Claims claims = null;
         
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
+            // Signature and expiry are verified here, once per request
             try {
-                email = jwtUtil.getEmailFromToken(token);
-            } catch (Exception e) {
+                claims = jwtUtil.parseClaims(authHeader.substring(7));
+            } catch (JwtException | IllegalArgumentException e) {
                 logger.warn("JWT token is invalid");
             }
         }
         
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            Optional<User> userOptional = userRepository.findByEmail(email);
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal = jwtProperties.isStateless()
+                ? getPrincipalFromClaims(claims)
+                : getPrincipalFromDatabase(claims);
             
-            if (userOptional.isPresent() && Boolean.TRUE.equals(jwtUtil.validateToken(token, email))) {
-                User user = userOptional.get();
-                
+            if (principal != null) {
                 // Create authorities based on user role
                 List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getRole().toString()));
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + principal.getRole().toString()));
                 
                 UsernamePasswordAuthenticationToken authToken = 
-                    new UsernamePasswordAuthenticationToken(user, null, authorities);
+                    new UsernamePasswordAuthenticationToken(principal, null, authorities);
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
                 
                 // Add user ID and role to request for easy access in controllers
-                request.setAttribute("userId", user.getId());
-                request.setAttribute("userRole", user.getRole().toString());
+                request.setAttribute("userId", principal.getUserId());
+                request.setAttribute("userRole", principal.getRole().toString());
             }
         }
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Stateless mode: identity and role come from the verified claims, and role
+     * changes or deletions are caught by the revocation registry instead of the database.
+     * Tokens issued without userId or role claims fall back to a lookup.
+     */
+    private AuthenticatedUser getPrincipalFromClaims(Claims claims) {
+        Long userId = jwtUtil.getUserId(claims);
+        String role = jwtUtil.getRole(claims);
+        if (userId == null || role == null) {
+            return getPrincipalFromDatabase(claims);
+        }
+        
+        if (tokenRevocationRegistry.isRevoked(userId, claims.getIssuedAt())) {
+            logger.warn("JWT token has been revoked");
+            return null;
+        }
+        
+        try {
+            return new AuthenticatedUser(userId, claims.getSubject(), UserRole.valueOf(role));
+        } catch (IllegalArgumentException e) {
+            logger.warn("JWT token has an unknown role");
+            return null;
+        }
+    }
+    
+    /**
+     * Default mode: the user is read from the database on every request, uncached, so a
+     * role change or deletion takes effect on the next request on every instance
+     */
+    private AuthenticatedUser getPrincipalFromDatabase(Claims claims) {
+        Optional<DirectoryUser> userOptional = userDirectory.loadByEmail(claims.getSubject());
+        if (userOptional.isEmpty()) {
+            return null;
+        }
+        DirectoryUser user = userOptional.get();
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 public class JwtProperties {
     private String secret;
     private String expiration;
+    private boolean stateless = false;
 
     public String getSecret() {
         return secret;
@@ -24,4 +25,12 @@ public class JwtProperties {
     public void setExpiration(String expiration) {
         this.expiration = expiration;
     }
+
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    public void setStateless(boolean stateless) {
+        this.stateless = stateless;
+    }
 }
@@ -8,28 +8,52 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtUtil {
     
     private static final String USER_ID_CLAIM = "userId";
     
+    private static final String ROLE_CLAIM = "role";
+    
     @Value("${jwt.secret:mySecretKey}")
     private String secret;
     
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private int expiration;
     
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    
+    // Built once; both are immutable and thread-safe
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
+    public JwtUtil(TokenRevocationRegistry tokenRevocationRegistry) {
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+    }
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
     
     public String generateToken(String email, Long userId) {
         return Jwts.builder()
                 .setSubject(email)
+                .setIssuedAt(tokenRevocationRegistry.issueTime(userId))
                 .claim(USER_ID_CLAIM, userId)
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
@@ -39,8 +63,9 @@ public class JwtUtil {
     public String generateToken(String email, Long userId, String role) {
         return Jwts.builder()
                 .setSubject(email)
+                .setIssuedAt(tokenRevocationRegistry.issueTime(userId))
                 .claim(USER_ID_CLAIM, userId)
-                .claim("role", role)
+                .claim(ROLE_CLAIM, role)
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
@@ -58,19 +83,31 @@ public class JwtUtil {
     
     public String getRoleFromToken(String token) {
         Claims claims = getClaimsFromToken(token);
-        return claims.get("role", String.class);
+        return claims.get(ROLE_CLAIM, String.class);
     }
     
     public Date getExpirationDateFromToken(String token) {
         return getClaimsFromToken(token).getExpiration();
     }
     
+    /**
+     * Verify the token signature and expiry once and return its claims.
+     * Throws a {@link io.jsonwebtoken.JwtException} when the token is invalid or expired.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+    
+    public Long getUserId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, Long.class);
+    }
+    
+    public String getRole(Claims claims) {
+        return claims.get(ROLE_CLAIM, String.class);
+    }
+    
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token);
     }
     
     public Boolean isTokenExpired(String token) {
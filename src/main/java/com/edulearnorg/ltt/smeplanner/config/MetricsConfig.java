@@ -0,0 +1,42 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Add {@link RepositoryCallMetrics} as an invocation listener to every Spring Data
+     * repository. The listener is looked up on the first call so that post-processing
+     * the repositories does not create it early.
+     */
+    @Bean
+    static BeanPostProcessor repositoryCallMetricsPostProcessor(ObjectProvider<RepositoryCallMetrics> repositoryCallMetrics) {
+        SingletonSupplier<RepositoryCallMetrics> listener = SingletonSupplier.of(repositoryCallMetrics::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                        factory.addInvocationListener(invocation -> listener.obtain().afterInvocation(invocation)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Let {@link SqlStatementCounter} see every statement Hibernate prepares
+     */
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+}
@@ -0,0 +1,36 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "occupancy")
+public class OccupancyProperties {
+    private int pastDays = 31;
+    private int futureDays = 366;
+    private int maxAgeMinutes = 5;
+
+    public int getPastDays() {
+        return pastDays;
+    }
+
+    public void setPastDays(int pastDays) {
+        this.pastDays = pastDays;
+    }
+
+    public int getFutureDays() {
+        return futureDays;
+    }
+
+    public void setFutureDays(int futureDays) {
+        this.futureDays = futureDays;
+    }
+
+    public int getMaxAgeMinutes() {
+        return maxAgeMinutes;
+    }
+
+    public void setMaxAgeMinutes(int maxAgeMinutes) {
+        this.maxAgeMinutes = maxAgeMinutes;
+    }
+}
@@ -0,0 +1,60 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the repository calls made while serving each HTTP request and records
+ * them per endpoint as {@code planner.http.repository.calls}, so that an endpoint
+ * whose count grows with the size of its data shows up as doing N+1 work.
+ *
+ * Calls are counted on the request thread only; work handed to other threads,
+ * such as asynchronous imports or streamed responses, is not attributed to the request.
+ */
+@Component
+public class RepositoryCallMetrics implements RepositoryMethodInvocationListener, HandlerInterceptor {
+
+    private static final String COUNT_ATTRIBUTE = RepositoryCallMetrics.class.getName() + ".count";
+
+    private final MeterRegistry meterRegistry;
+
+    public RepositoryCallMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        int[] count = (int[]) attributes.getAttribute(COUNT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (count == null) {
+            attributes.setAttribute(COUNT_ATTRIBUTE, new int[] { 1 }, RequestAttributes.SCOPE_REQUEST);
+        } else {
+            count[0]++;
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int[] count = (int[]) request.getAttribute(COUNT_ATTRIBUTE);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("planner.http.repository.calls")
+            .description("Repository calls made per HTTP request")
+            .tag("method", request.getMethod())
+            .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry)
+            .record(count != null ? count[0] : 0);
+    }
+}
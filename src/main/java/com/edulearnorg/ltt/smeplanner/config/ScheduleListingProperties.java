@@ -0,0 +1,37 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "schedule-listing")
+public class ScheduleListingProperties {
+    private int pageSize = 100;
+    private int maxPageSize = 1000;
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time
+    private int streamFetchSize = Integer.MIN_VALUE;
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public int getStreamFetchSize() {
+        return streamFetchSize;
+    }
+
+    public void setStreamFetchSize(int streamFetchSize) {
+        this.streamFetchSize = streamFetchSize;
+    }
+}
@@ -2,6 +2,7 @@ package com.edulearnorg.ltt.smeplanner.config;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -12,6 +13,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -22,9 +24,15 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final int serverPort;
+    private final int managementPort;
     
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          @Value("${server.port:8080}") int serverPort,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.serverPort = serverPort;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -35,6 +43,7 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/ltt-sme-planner/v1/auth/login").permitAll() // Login endpoint
+                .requestMatchers(managementPortRequests()).permitAll() // Actuator on the internal management port (Prometheus scrapes)
                 .requestMatchers("/ltt-sme-planner/v1/activities").hasAnyRole("SME", "SUPERVISOR", "LEAD") // Activities endpoint - all roles
                 .requestMatchers("/ltt-sme-planner/v1/admin/**").hasRole("LEAD") // Admin endpoints - Lead only
                 .requestMatchers("/ltt-sme-planner/v1/supervisor/**").hasAnyRole("SUPERVISOR", "LEAD") // Supervisor endpoints
@@ -51,6 +60,16 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Actuator requests received on the management port, which is not published. Matches
+     * nothing when actuator shares the application port, so it then requires a token.
+     */
+    private RequestMatcher managementPortRequests() {
+        return request -> managementPort > 0 && managementPort != serverPort
+            && request.getLocalPort() == managementPort
+            && request.getRequestURI().startsWith("/actuator/");
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
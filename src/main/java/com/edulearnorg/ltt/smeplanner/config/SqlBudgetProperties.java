@@ -0,0 +1,27 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sql-budget")
+public class SqlBudgetProperties {
+    private int maxStatements = 50;
+    private int topShapes = 5;
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    public int getTopShapes() {
+        return topShapes;
+    }
+
+    public void setTopShapes(int topShapes) {
+        this.topShapes = topShapes;
+    }
+}
@@ -0,0 +1,96 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements of every HTTP request with {@link SqlStatementCounter}.
+ *
+ * The count is recorded per endpoint as {@code planner.http.sql.statements} and
+ * returned in the {@value #COUNT_HEADER} response header (see
+ * {@link SqlStatementCountAdvice} for responses with a body). A request above
+ * {@code sql-budget.max-statements} is logged with its most repeated statement
+ * shapes, which points straight at the query run once per row.
+ *
+ * Only statements run on the request thread are counted. Endpoints returning a
+ * {@code StreamingResponseBody}, such as the schedule streams, the schedule import
+ * and the CSV exports, write their body on an async thread, so its statements are
+ * not counted here.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-SQL-Statement-Count";
+
+    static final String SCOPE_ATTRIBUTE = SqlStatementBudgetFilter.class.getName() + ".scope";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    private final SqlBudgetProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementBudgetFilter(SqlStatementCounter sqlStatementCounter, SqlBudgetProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.Scope scope = sqlStatementCounter.open();
+        request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            if (!response.isCommitted()) {
+                response.setHeader(COUNT_HEADER, String.valueOf(scope.getCount()));
+            }
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("planner.http.sql.statements")
+            .description("SQL statements executed through Hibernate per HTTP request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry)
+            .record(scope.getCount());
+
+        if (scope.getCount() > properties.getMaxStatements()) {
+            StringBuilder shapes = new StringBuilder();
+            for (Map.Entry<String, Integer> shape : scope.getTopShapes(properties.getTopShapes()).entrySet()) {
+                shapes.append("\n  ").append(shape.getValue()).append(" x ").append(shape.getKey());
+            }
+            logger.warn("{} {} ({}) executed {} SQL statements, over the budget of {}; most repeated:{}",
+                request.getMethod(), request.getRequestURI(), uri, scope.getCount(), properties.getMaxStatements(), shapes);
+        }
+    }
+}
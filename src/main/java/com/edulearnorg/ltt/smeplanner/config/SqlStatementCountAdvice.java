@@ -0,0 +1,37 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@value SqlStatementBudgetFilter#COUNT_HEADER} header to responses with a
+ * body, which are committed before {@link SqlStatementBudgetFilter} gets to add it.
+ * Statements run while the body is written, such as lazy loads, are not included.
+ */
+@ControllerAdvice
+public class SqlStatementCountAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            Object scope = servletRequest.getServletRequest().getAttribute(SqlStatementBudgetFilter.SCOPE_ATTRIBUTE);
+            if (scope instanceof SqlStatementCounter.Scope statementScope) {
+                response.getHeaders().set(SqlStatementBudgetFilter.COUNT_HEADER, String.valueOf(statementScope.getCount()));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,84 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * {@link Scope} is open: the statements of an HTTP request (see
+ * {@link SqlStatementBudgetFilter}) or of a block measured by a test.
+ *
+ * Statements issued through JdbcTemplate or plain JDBC, such as the batched bulk
+ * inserts and streamed exports, bypass Hibernate and are not counted.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = currentScope.get(); scope != null; scope = scope.parent) {
+            scope.count++;
+            scope.statements.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    /**
+     * Start counting on the current thread; the scope must be closed on the same thread
+     */
+    public Scope open() {
+        Scope scope = new Scope(currentScope.get());
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Statements counted since the scope was opened, including those of nested scopes
+     */
+    public final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final Map<String, Integer> statements = new HashMap<>();
+        private int count;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * The most frequent statement shapes, most frequent first. Statements that
+         * differ only in whitespace or in the length of an IN list share a shape.
+         */
+        public Map<String, Integer> getTopShapes(int limit) {
+            Map<String, Integer> shapes = new HashMap<>();
+            statements.forEach((sql, times) -> shapes.merge(shape(sql), times, Integer::sum));
+            List<Map.Entry<String, Integer>> sorted = shapes.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+            Map<String, Integer> top = new LinkedHashMap<>();
+            sorted.forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+            return top;
+        }
+
+        @Override
+        public void close() {
+            currentScope.set(parent);
+        }
+
+        private String shape(String sql) {
+            return sql.replaceAll("\\s+", " ").trim().replaceAll("\\(\\?(\\s*,\\s*\\?)+\\)", "(?, ...)");
+        }
+    }
+}
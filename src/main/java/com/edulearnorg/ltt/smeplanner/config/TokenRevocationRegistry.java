@@ -0,0 +1,69 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory table of per-user token revocations used by stateless authentication.
+ *
+ * Changing a user's role or deleting the user records the current time; any token
+ * for that user issued at or before it is rejected, so the user has to log in again
+ * to get a token carrying the new role. Entries are dropped once every token they
+ * could apply to has expired.
+ *
+ * The table is local to this instance and is not persisted: after a restart, or on
+ * another instance, tokens issued before a role change are accepted again until they
+ * expire. Run stateless mode only where that window ({@code jwt.expiration}) is acceptable.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    @Value("${jwt.expiration:86400000}")
+    private long expiration;
+
+    // userId -> epoch millisecond up to which tokens are no longer valid
+    private final ConcurrentHashMap<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    /**
+     * Invalidate all tokens issued to the user up to now
+     */
+    public void revokeTokens(Long userId) {
+        long now = System.currentTimeMillis();
+        revokedBefore.merge(userId, now, Math::max);
+        pruneExpired(now);
+    }
+
+    /**
+     * Issue time for a new token. The iat claim only keeps whole seconds, so a token
+     * issued in the same second as a revocation is dated at the start of the next
+     * second; otherwise it would be indistinguishable from the revoked ones.
+     */
+    public Date issueTime(Long userId) {
+        long now = System.currentTimeMillis();
+        Long revokedAt = revokedBefore.get(userId);
+        if (revokedAt != null && now / 1000 * 1000 <= revokedAt) {
+            return new Date((revokedAt / 1000 + 1) * 1000);
+        }
+        return new Date(now);
+    }
+
+    /**
+     * Check whether a token issued to the user at the given time has been revoked.
+     * Tokens without an issue time are treated as revoked once the user has an entry.
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revokedAt = revokedBefore.get(userId);
+        if (revokedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() <= revokedAt;
+    }
+
+    private void pruneExpired(long now) {
+        long oldestLiveIssue = now - expiration;
+        revokedBefore.values().removeIf(revokedAt -> revokedAt < oldestLiveIssue);
+    }
+}
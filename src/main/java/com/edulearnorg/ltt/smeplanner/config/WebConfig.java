@@ -0,0 +1,31 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CurrentUserArgumentResolver currentUserArgumentResolver;
+
+    private final RepositoryCallMetrics repositoryCallMetrics;
+
+    public WebConfig(CurrentUserArgumentResolver currentUserArgumentResolver, RepositoryCallMetrics repositoryCallMetrics) {
+        this.currentUserArgumentResolver = currentUserArgumentResolver;
+        this.repositoryCallMetrics = repositoryCallMetrics;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(repositoryCallMetrics);
+    }
+}
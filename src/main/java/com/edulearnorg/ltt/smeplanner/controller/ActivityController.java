@@ -3,6 +3,7 @@ package com.edulearnorg.ltt.smeplanner.controller;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -14,12 +15,14 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.edulearnorg.ltt.smeplanner.dto.BulkActivityRequest;
 import com.edulearnorg.ltt.smeplanner.dto.CreateActivityRequest;
 import com.edulearnorg.ltt.smeplanner.dto.UpdateActivityRequest;
 import com.edulearnorg.ltt.smeplanner.entity.Activity;
 import com.edulearnorg.ltt.smeplanner.service.ActivityService;
+import com.edulearnorg.ltt.smeplanner.service.ResourceVersions;
 
 import jakarta.validation.Valid;
 
@@ -40,8 +43,11 @@ public class ActivityController {
     
     private final ActivityService activityService;
     
-    public ActivityController(ActivityService activityService) {
+    private final ResourceVersions resourceVersions;
+    
+    public ActivityController(ActivityService activityService, ResourceVersions resourceVersions) {
         this.activityService = activityService;
+        this.resourceVersions = resourceVersions;
     }
     
     @GetMapping
@@ -58,11 +64,19 @@ public class ActivityController {
                 schema = @Schema(implementation = Activity.class)
             )
         ),
+        @ApiResponse(responseCode = "304", description = "Activities unchanged since the version in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid JWT token")
     })
-    public ResponseEntity<List<Activity>> getActivities() {
+    public ResponseEntity<List<Activity>> getActivities(WebRequest webRequest) {
+        String etag = resourceVersions.activitiesTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         List<Activity> activities = activityService.getAllActivities();
-        return ResponseEntity.ok(activities);
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .eTag(etag)
+            .body(activities);
     }
     
     @GetMapping("/{id}")
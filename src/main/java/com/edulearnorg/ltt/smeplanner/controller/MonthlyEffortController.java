@@ -1,23 +1,38 @@
 package com.edulearnorg.ltt.smeplanner.controller;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.edulearnorg.ltt.smeplanner.config.AuthenticatedUser;
+import com.edulearnorg.ltt.smeplanner.config.CurrentUser;
 import com.edulearnorg.ltt.smeplanner.dto.ConsolidatedMonthlyEffortResponse;
 import com.edulearnorg.ltt.smeplanner.dto.ErrorResponse;
 import com.edulearnorg.ltt.smeplanner.dto.MonthlyEffortDetailsResponse;
-import com.edulearnorg.ltt.smeplanner.entity.User;
 import com.edulearnorg.ltt.smeplanner.service.MonthlyEffortService;
+import com.edulearnorg.ltt.smeplanner.service.ReportExportService;
+import com.edulearnorg.ltt.smeplanner.service.ResourceVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -40,11 +55,22 @@ public class MonthlyEffortController {
     private static final String NOT_FOUND_LITERAL = "not found";
     private static final String INTERNAL_SERVER_ERROR_MSG = "Internal server error: ";
     private static final String ACCESS_DENIED_MSG = "Access denied - insufficient permissions";
+    private static final String CSV_MEDIA_TYPE = "text/csv";
     
     private final MonthlyEffortService monthlyEffortService;
 
-    public MonthlyEffortController(MonthlyEffortService monthlyEffortService) {
+    private final ResourceVersions resourceVersions;
+
+    private final ReportExportService reportExportService;
+
+    private final ObjectMapper objectMapper;
+
+    public MonthlyEffortController(MonthlyEffortService monthlyEffortService, ResourceVersions resourceVersions,
+                                   ReportExportService reportExportService, ObjectMapper objectMapper) {
         this.monthlyEffortService = monthlyEffortService;
+        this.resourceVersions = resourceVersions;
+        this.reportExportService = reportExportService;
+        this.objectMapper = objectMapper;
     }
     
     @GetMapping("/supervisor/sme/{smeId}/effort/{monthYear}")
@@ -61,7 +87,8 @@ public class MonthlyEffortController {
     @PreAuthorize("hasRole('SUPERVISOR') or hasRole('LEAD')")
     public ResponseEntity<Object> getMonthlyEffortDetails(
             @Parameter(description = "SME ID", example = "1") @PathVariable Long smeId,
-            @Parameter(description = "Month-Year in YYYY-MM format", example = "2025-07") @PathVariable String monthYear) {
+            @Parameter(description = "Month-Year in YYYY-MM format", example = "2025-07") @PathVariable String monthYear,
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
             // Validate month-year format
             if (!monthYear.matches(MONTH_YEAR_REGEX)) {
@@ -69,10 +96,9 @@ public class MonthlyEffortController {
                     .body(new ErrorResponse(400, INVALID_MONTH_YEAR_FORMAT_MSG));
             }
             
-            // Get user information from authentication context
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Long userId = getUserIdFromAuthentication(authentication);
-            String userRole = getUserRoleFromAuthentication(authentication);
+            // Get user information from the authenticated principal
+            Long userId = currentUser.getUserId();
+            String userRole = currentUser.getRole().toString();
             
             MonthlyEffortDetailsResponse response;
 
@@ -119,13 +145,16 @@ public class MonthlyEffortController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Consolidated monthly effort details retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Report unchanged since the version in If-None-Match"),
         @ApiResponse(responseCode = "400", description = "Invalid month-year format"),
         @ApiResponse(responseCode = "404", description = "Supervisor not found"),
         @ApiResponse(responseCode = "403", description = "Access denied - user is not authorized")
     })
     @PreAuthorize("hasRole('SUPERVISOR') or hasRole('LEAD')")
     public ResponseEntity<Object> getConsolidatedMonthlyEffortDetails(
-            @Parameter(description = "Month-Year in YYYY-MM format", example = "2025-07") @PathVariable String monthYear) {
+            @Parameter(description = "Month-Year in YYYY-MM format", example = "2025-07") @PathVariable String monthYear,
+            @CurrentUser AuthenticatedUser currentUser,
+            WebRequest webRequest) {
         
         try {
             // Validate month-year format
@@ -134,10 +163,14 @@ public class MonthlyEffortController {
                     .body(new ErrorResponse(400, INVALID_MONTH_YEAR_FORMAT_MSG));
             }
             
-            // Get user information from authentication context
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Long userId = getUserIdFromAuthentication(authentication);
-            String userRole = getUserRoleFromAuthentication(authentication);
+            // Get user information from the authenticated principal
+            Long userId = currentUser.getUserId();
+            String userRole = currentUser.getRole().toString();
+            
+            String etag = resourceVersions.effortTag(monthYear, userId, ROLE_SUPERVISOR.equals(userRole) ? userId : null);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
             
             ConsolidatedMonthlyEffortResponse response;
             
@@ -157,7 +190,10 @@ public class MonthlyEffortController {
                     .body(new ErrorResponse(403, ACCESS_DENIED_MSG));
             }
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(response);
         } catch (RuntimeException e) {
             if (e.getMessage().contains(NOT_FOUND_LITERAL)) {
                 return ResponseEntity.status(404)
@@ -221,11 +257,14 @@ public class MonthlyEffortController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Consolidated monthly effort details retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Report unchanged since the version in If-None-Match"),
         @ApiResponse(responseCode = "400", description = "Invalid month-year format")
     })
     @PreAuthorize("hasRole('LEAD')")
     public ResponseEntity<Object> getConsolidatedMonthlyEffortDetailsByLead(
-            @Parameter(description = "Month-Year in YYYY-MM format", example = "2025-07") @PathVariable String monthYear) {
+            @Parameter(description = "Month-Year in YYYY-MM format", example = "2025-07") @PathVariable String monthYear,
+            @CurrentUser AuthenticatedUser currentUser,
+            WebRequest webRequest) {
         
         try {
             // Validate month-year format
@@ -234,63 +273,159 @@ public class MonthlyEffortController {
                     .body(new ErrorResponse(400, INVALID_MONTH_YEAR_FORMAT_MSG));
             }
             
+            String etag = resourceVersions.effortTag(monthYear, currentUser.getUserId(), null);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            
             // LEADs have unrestricted access to all SMEs' data
             ConsolidatedMonthlyEffortResponse response = monthlyEffortService
                 .getConsolidatedMonthlyEffortDetailsForLead(monthYear);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(response);
             
         } catch (Exception e) {
             return ResponseEntity.status(500)
                 .body(new ErrorResponse(500, INTERNAL_SERVER_ERROR_MSG + e.getMessage()));
         }
     }
+
+    @GetMapping("/supervisor/reportees/effort/export")
+    @Operation(
+        summary = "Export monthly effort of all reportees as CSV",
+        description = "Stream one CSV row per reportee and month for a range of months. SUPERVISOR role exports their reportees, LEAD role all SMEs."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "CSV export", content = @Content(mediaType = CSV_MEDIA_TYPE)),
+        @ApiResponse(responseCode = "400", description = "Invalid month-year format or range"),
+        @ApiResponse(responseCode = "404", description = "Supervisor not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied - user is not authorized")
+    })
+    @PreAuthorize("hasRole('SUPERVISOR') or hasRole('LEAD')")
+    public ResponseEntity<StreamingResponseBody> exportReporteeEffort(
+            @Parameter(description = "First month in YYYY-MM format", example = "2025-01") @RequestParam String from,
+            @Parameter(description = "Last month in YYYY-MM format", example = "2025-12") @RequestParam String to,
+            @CurrentUser AuthenticatedUser currentUser) {
+        return exportEffort(supervisorScope(currentUser), from, to);
+    }
+    
+    @GetMapping("/lead/smes/effort/export")
+    @Operation(
+        summary = "Export monthly effort of all SMEs as CSV by Lead",
+        description = "Stream one CSV row per SME and month for a range of months. Only accessible by LEAD role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "CSV export", content = @Content(mediaType = CSV_MEDIA_TYPE)),
+        @ApiResponse(responseCode = "400", description = "Invalid month-year format or range")
+    })
+    @PreAuthorize("hasRole('LEAD')")
+    public ResponseEntity<StreamingResponseBody> exportSmeEffortByLead(
+            @Parameter(description = "First month in YYYY-MM format", example = "2025-01") @RequestParam String from,
+            @Parameter(description = "Last month in YYYY-MM format", example = "2025-12") @RequestParam String to) {
+        return exportEffort(null, from, to);
+    }
+    
+    @GetMapping("/supervisor/reportees/schedules/export")
+    @Operation(
+        summary = "Export schedules of all reportees as CSV",
+        description = "Stream the schedules starting in a date range as CSV. SUPERVISOR role exports their reportees, LEAD role all SMEs."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "CSV export", content = @Content(mediaType = CSV_MEDIA_TYPE)),
+        @ApiResponse(responseCode = "400", description = "Invalid date range"),
+        @ApiResponse(responseCode = "404", description = "Supervisor not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied - user is not authorized")
+    })
+    @PreAuthorize("hasRole('SUPERVISOR') or hasRole('LEAD')")
+    public ResponseEntity<StreamingResponseBody> exportReporteeSchedules(
+            @Parameter(description = "First date (YYYY-MM-DD)", example = "2025-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last date (YYYY-MM-DD)", example = "2025-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @CurrentUser AuthenticatedUser currentUser) {
+        return exportSchedules(supervisorScope(currentUser), from, to);
+    }
+    
+    @GetMapping("/lead/smes/schedules/export")
+    @Operation(
+        summary = "Export schedules of all SMEs as CSV by Lead",
+        description = "Stream the schedules of all SMEs starting in a date range as CSV. Only accessible by LEAD role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "CSV export", content = @Content(mediaType = CSV_MEDIA_TYPE)),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    @PreAuthorize("hasRole('LEAD')")
+    public ResponseEntity<StreamingResponseBody> exportSmeSchedulesByLead(
+            @Parameter(description = "First date (YYYY-MM-DD)", example = "2025-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last date (YYYY-MM-DD)", example = "2025-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return exportSchedules(null, from, to);
+    }
     
     /**
-     * Helper method to extract user ID from authentication context
+     * Supervisor whose reportees are exported, or null for a lead, who exports all SMEs
      */
-    private Long getUserIdFromAuthentication(Authentication authentication) {
-        // Get user from authentication principal (set by JwtAuthenticationFilter)
-        if (authentication.getPrincipal() instanceof User user) {
-            return user.getId();
-        }
-        
-        // Fallback: this should not happen if JWT filter is working correctly
-        throw new UserIdExtractionException("Unable to extract user ID from authentication context");
+    private Long supervisorScope(AuthenticatedUser currentUser) {
+        return ROLE_LEAD.equals(currentUser.getRole().toString()) ? null : currentUser.getUserId();
     }
     
-/**
- * Helper method to extract user role from authentication context
- */
-private String getUserRoleFromAuthentication(Authentication authentication) {
-    // Get user from authentication principal (set by JwtAuthenticationFilter)
-    if (authentication.getPrincipal() instanceof User user) {
-        return user.getRole().toString();
+    private ResponseEntity<StreamingResponseBody> exportEffort(Long supervisorId, String from, String to) {
+        if (!from.matches(MONTH_YEAR_REGEX) || !to.matches(MONTH_YEAR_REGEX)) {
+            return errorResponse(400, INVALID_MONTH_YEAR_FORMAT_MSG);
+        }
+        try {
+            YearMonth fromMonth;
+            YearMonth toMonth;
+            try {
+                fromMonth = YearMonth.parse(from);
+                toMonth = YearMonth.parse(to);
+            } catch (DateTimeParseException e) {
+                return errorResponse(400, INVALID_MONTH_YEAR_FORMAT_MSG);
+            }
+            reportExportService.checkMonthRange(fromMonth, toMonth);
+            if (supervisorId != null) {
+                reportExportService.checkSupervisor(supervisorId);
+            }
+            
+            StreamingResponseBody stream = output -> reportExportService.exportEffort(supervisorId, fromMonth, toMonth, output);
+            return csvResponse("effort-" + from + "-to-" + to + ".csv", stream);
+        } catch (RuntimeException e) {
+            return errorResponse(e.getMessage() != null && e.getMessage().contains(NOT_FOUND_LITERAL) ? 404 : 400, e.getMessage());
+        }
     }
-    // Fallback: extract from authorities
-    if (authentication.getAuthorities().stream()
-            .anyMatch(authority -> authority.getAuthority().equals("ROLE_LEAD"))) {
-        return "LEAD";
-    } else if (authentication.getAuthorities().stream()
-            .anyMatch(authority -> authority.getAuthority().equals("ROLE_SUPERVISOR"))) {
-        return ROLE_SUPERVISOR;
+    
+    private ResponseEntity<StreamingResponseBody> exportSchedules(Long supervisorId, LocalDate from, LocalDate to) {
+        try {
+            reportExportService.checkDateRange(from, to);
+            if (supervisorId != null) {
+                reportExportService.checkSupervisor(supervisorId);
+            }
+            
+            StreamingResponseBody stream = output -> reportExportService.exportSchedules(supervisorId, from, to, output);
+            return csvResponse("schedules-" + from + "-to-" + to + ".csv", stream);
+        } catch (RuntimeException e) {
+            return errorResponse(e.getMessage() != null && e.getMessage().contains(NOT_FOUND_LITERAL) ? 404 : 400, e.getMessage());
+        }
     }
     
-    // Final fallback: this should not happen if JWT filter is working correctly
-    throw new UserRoleExtractionException("Unable to extract user role from authentication context");
-}
-class UserRoleExtractionException extends RuntimeException {
-    public UserRoleExtractionException(String message) {
-        super(message);
+    private ResponseEntity<StreamingResponseBody> csvResponse(String filename, StreamingResponseBody stream) {
+        // No content length, so the export is sent with chunked transfer encoding as it is written
+        return ResponseEntity.ok()
+            .contentType(MediaType.valueOf(CSV_MEDIA_TYPE))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(stream);
     }
-}
-
-/**
- * Custom exception for user ID extraction errors.
- */
-class UserIdExtractionException extends RuntimeException {
-    public UserIdExtractionException(String message) {
-        super(message);
+    
+    private ResponseEntity<StreamingResponseBody> errorResponse(int status, String message) {
+        ErrorResponse error = new ErrorResponse(status, message);
+        StreamingResponseBody body = output -> objectMapper.writeValue(output, error);
+        return ResponseEntity.status(status)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
     }
 }
-}
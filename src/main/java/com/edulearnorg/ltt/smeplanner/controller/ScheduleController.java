@@ -1,15 +1,26 @@
 package com.edulearnorg.ltt.smeplanner.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,23 +29,40 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.edulearnorg.ltt.smeplanner.config.JwtUtil;
+import com.edulearnorg.ltt.smeplanner.config.AuthenticatedUser;
+import com.edulearnorg.ltt.smeplanner.config.CurrentUser;
+import com.edulearnorg.ltt.smeplanner.config.ScheduleListingProperties;
+import com.edulearnorg.ltt.smeplanner.dto.BulkImportJobResponse;
 import com.edulearnorg.ltt.smeplanner.dto.BulkScheduleCreateRequest;
 import com.edulearnorg.ltt.smeplanner.dto.BulkScheduleCreateResponse;
 import com.edulearnorg.ltt.smeplanner.dto.CreateScheduleRequest;
 import com.edulearnorg.ltt.smeplanner.dto.ErrorResponse;
+import com.edulearnorg.ltt.smeplanner.dto.ScheduleImportRowResult;
+import com.edulearnorg.ltt.smeplanner.dto.SchedulePageResponse;
 import com.edulearnorg.ltt.smeplanner.dto.ScheduleResponse;
 import com.edulearnorg.ltt.smeplanner.dto.UpdateScheduleRequest;
+import com.edulearnorg.ltt.smeplanner.entity.BulkImportJob;
 import com.edulearnorg.ltt.smeplanner.entity.Schedule;
-import com.edulearnorg.ltt.smeplanner.entity.User;
 import com.edulearnorg.ltt.smeplanner.enums.UserRole;
-import com.edulearnorg.ltt.smeplanner.exception.InvalidTokenException;
-import com.edulearnorg.ltt.smeplanner.repository.UserRepository;
+import com.edulearnorg.ltt.smeplanner.service.BulkImportJobService;
+import com.edulearnorg.ltt.smeplanner.service.BulkScheduleService;
+import com.edulearnorg.ltt.smeplanner.service.ScheduleCursor;
+import com.edulearnorg.ltt.smeplanner.service.ResourceVersions;
+import com.edulearnorg.ltt.smeplanner.service.ScheduleImportService;
+import com.edulearnorg.ltt.smeplanner.service.ScheduleRequests;
 import com.edulearnorg.ltt.smeplanner.service.ScheduleService;
+import com.edulearnorg.ltt.smeplanner.service.UserDirectory;
+import com.edulearnorg.ltt.smeplanner.service.UserDirectory.DirectoryUser;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,7 +72,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -58,32 +85,57 @@ public class ScheduleController {
     private ScheduleService scheduleService;
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private UserDirectory userDirectory;
     
     @Autowired
-    private UserRepository userRepository;
+    private ResourceVersions resourceVersions;
+    
+    @Autowired
+    private BulkScheduleService bulkScheduleService;
+    
+    @Autowired
+    private BulkImportJobService bulkImportJobService;
+    
+    @Autowired
+    private ScheduleImportService scheduleImportService;
+    
+    @Autowired
+    private ScheduleListingProperties listingProperties;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    
+    private static final String CSV_MEDIA_TYPE = "text/csv";
     
-    private static final String DATE_ERROR = "From date must be before or equal to to date";
-
-    private static final String TIME_ERROR = "From time must be before to time on the same date";
-
     /**
      * Get all schedules for the authenticated user
      */
     @GetMapping
     @Operation(
         summary = "Get User Schedules",
-        description = "Retrieve all schedules for the authenticated user"
+        description = "Retrieve all schedules for the authenticated user. With 'cursor' or 'size' the schedules are " +
+                      "returned one page at a time, ordered by start date; follow 'nextCursor' to get the next page."
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
-            description = "Schedules retrieved successfully",
+            description = "Schedules retrieved successfully, as a list or as a SchedulePageResponse when paging",
             content = @Content(
                 mediaType = "application/json",
                 schema = @Schema(implementation = ScheduleResponse.class)
             )
         ),
+        @ApiResponse(responseCode = "304", description = "Schedules unchanged since the version in If-None-Match"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor or page size",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
         @ApiResponse(
             responseCode = "401",
             description = "Unauthorized - Invalid token",
@@ -93,21 +145,76 @@ public class ScheduleController {
             )
         )
     })
-    public ResponseEntity<Object> getUserSchedules(HttpServletRequest request) {
+    public ResponseEntity<Object> getUserSchedules(
+            @Parameter(description = "Cursor of the page to fetch, taken from 'nextCursor' of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size; defaults to the configured page size when only a cursor is given", example = "100")
+            @RequestParam(required = false) Integer size,
+            @CurrentUser AuthenticatedUser currentUser,
+            WebRequest webRequest) {
         try {
-            Long userId = getUserIdFromRequest(request);
+            Long userId = currentUser.getUserId();
+            String etag = resourceVersions.schedulesTag(userId);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            
+            if (cursor != null || size != null) {
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .eTag(etag)
+                        .body(getSchedulePage(userId, cursor, size));
+            }
+            
             List<Schedule> schedules = scheduleService.getSchedulesByUserId(userId);
             List<ScheduleResponse> response = schedules.stream()
                     .map(this::convertToScheduleResponse)
                     .toList();
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(etag)
+                    .body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(400, e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ErrorResponse(500, "Failed to retrieve schedules: " + e.getMessage()));
         }
     }
     
+    /**
+     * Stream all schedules of the authenticated user as NDJSON
+     */
+    @GetMapping("/stream")
+    @Operation(
+        summary = "Stream User Schedules",
+        description = "Write all schedules of the authenticated user as newline-delimited JSON, ordered by start date. " +
+                      "Rows are written as they are read, so the whole history is never held in memory."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "One ScheduleResponse per line",
+            content = @Content(
+                mediaType = NDJSON_MEDIA_TYPE,
+                schema = @Schema(implementation = ScheduleResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - Invalid token",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> streamUserSchedules(@CurrentUser AuthenticatedUser currentUser) {
+        return streamSchedules(currentUser.getUserId());
+    }
+    
     /**
      * Get schedules for the authenticated user within a date range
      */
@@ -147,9 +254,9 @@ public class ScheduleController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)", example = "2025-07-31")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            HttpServletRequest request) {
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromRequest(request);
+            Long userId = currentUser.getUserId();
             
             if (startDate.isAfter(endDate)) {
                 return ResponseEntity.badRequest()
@@ -213,9 +320,9 @@ public class ScheduleController {
     public ResponseEntity<Object> getScheduleById(
             @Parameter(description = "Schedule ID", example = "1")
             @PathVariable Long id,
-            HttpServletRequest request) {
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromRequest(request);
+            Long userId = currentUser.getUserId();
             Optional<Schedule> scheduleOpt = scheduleService.getScheduleById(id);
             
             if (scheduleOpt.isEmpty()) {
@@ -241,17 +348,26 @@ public class ScheduleController {
     @GetMapping("/sme/{smeId}")
     @Operation(
         summary = "Get SME Schedules",
-        description = "Retrieve schedules for a specific SME by ID, optionally filtered by month. Accessible by SME, SUPERVISOR and LEAD roles."
+        description = "Retrieve schedules for a specific SME by ID, optionally filtered by month. Accessible by SME, SUPERVISOR and LEAD roles. " +
+                      "Without a month, 'cursor' or 'size' return the schedules one page at a time, ordered by start date."
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
-            description = "SME schedules retrieved successfully",
+            description = "SME schedules retrieved successfully, as a list or as a SchedulePageResponse when paging",
             content = @Content(
                 mediaType = "application/json",
                 schema = @Schema(implementation = ScheduleResponse.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid month, cursor or page size, or paging combined with a month",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
         @ApiResponse(
             responseCode = "403",
             description = "Forbidden - Insufficient permissions or target user is not an SME",
@@ -282,27 +398,23 @@ public class ScheduleController {
             @PathVariable Long smeId,
             @Parameter(description = "Month filter (YYYY-MM format)", example = "2025-07")
             @RequestParam(required = false) String month,
-            HttpServletRequest request) {
+            @Parameter(description = "Cursor of the page to fetch, taken from 'nextCursor' of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size; defaults to the configured page size when only a cursor is given", example = "100")
+            @RequestParam(required = false) Integer size,
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
-            String currentUserRole = getCurrentUserRole(request);
-            
-            // Check if user has permission to view SME schedules (SME, SUPERVISOR, or LEAD)
-            if (!("SME".equals(currentUserRole) || "SUPERVISOR".equals(currentUserRole) || "LEAD".equals(currentUserRole))) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(new ErrorResponse(403, "Only SME, SUPERVISOR and LEAD roles can view SME schedules"));
-            }
-            
-            // Verify that the SME exists and can act as SME
-            Optional<com.edulearnorg.ltt.smeplanner.entity.User> smeUserOpt = getUserById(smeId);
-            if (smeUserOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(new ErrorResponse(404, "SME not found with ID: " + smeId));
+            ErrorResponse accessError = checkSmeScheduleAccess(smeId, currentUser);
+            if (accessError != null) {
+                return ResponseEntity.status(accessError.getCode()).body(accessError);
             }
             
-            com.edulearnorg.ltt.smeplanner.entity.User smeUser = smeUserOpt.get();
-            if (!canActAsSme(smeUser)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(new ErrorResponse(403, "User with ID " + smeId + " is not an SME"));
+            if (cursor != null || size != null) {
+                if (month != null && !month.trim().isEmpty()) {
+                    return ResponseEntity.badRequest()
+                            .body(new ErrorResponse(400, "Paging cannot be combined with a month filter"));
+                }
+                return ResponseEntity.ok(getSchedulePage(smeId, cursor, size));
             }
             
             List<Schedule> schedules = getSchedulesForSme(smeId, month);
@@ -317,12 +429,64 @@ public class ScheduleController {
                     
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(400, e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ErrorResponse(500, "Failed to retrieve SME schedules: " + e.getMessage()));
         }
     }
     
+    /**
+     * Stream all schedules of a specific SME as NDJSON (accessible by SME, SUPERVISOR and LEAD roles)
+     */
+    @GetMapping("/sme/{smeId}/stream")
+    @Operation(
+        summary = "Stream SME Schedules",
+        description = "Write all schedules of a specific SME as newline-delimited JSON, ordered by start date. " +
+                      "Accessible by SME, SUPERVISOR and LEAD roles."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "One ScheduleResponse per line",
+            content = @Content(
+                mediaType = NDJSON_MEDIA_TYPE,
+                schema = @Schema(implementation = ScheduleResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - Insufficient permissions or target user is not an SME",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "SME not found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> streamSMESchedules(
+            @Parameter(description = "SME User ID", example = "5")
+            @PathVariable Long smeId,
+            @CurrentUser AuthenticatedUser currentUser) {
+        ErrorResponse accessError = checkSmeScheduleAccess(smeId, currentUser);
+        if (accessError != null) {
+            StreamingResponseBody error = output -> objectMapper.writeValue(output, accessError);
+            return ResponseEntity.status(accessError.getCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(error);
+        }
+        return streamSchedules(smeId);
+    }
+    
     /**
      * Create a new schedule for the authenticated user
      */
@@ -359,29 +523,24 @@ public class ScheduleController {
     })
     public ResponseEntity<Object> createSchedule(
             @Valid @RequestBody CreateScheduleRequest request,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromRequest(httpRequest);
+            Long userId = currentUser.getUserId();
             
             // Validate that the user is scheduling for themselves
             if (!request.getUserId().equals(userId)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(new ErrorResponse(403, "You can only create schedules for yourself"));
+                        .body(new ErrorResponse(403, ScheduleRequests.OWNERSHIP_ERROR));
             }
             
             // Validate date and time logic
-            if (request.getFromDate().isAfter(request.getToDate())) {
+            String rangeError = ScheduleRequests.validateRange(request);
+            if (rangeError != null) {
                 return ResponseEntity.badRequest()
-                        .body(new ErrorResponse(400, DATE_ERROR));
+                        .body(new ErrorResponse(400, rangeError));
             }
             
-            if (request.getFromDate().equals(request.getToDate()) && 
-                request.getFromTime().isAfter(request.getToTime())) {
-                return ResponseEntity.badRequest()
-                        .body(new ErrorResponse(400, TIME_ERROR));
-            }
-            
-            Schedule schedule = convertToSchedule(request);
+            Schedule schedule = ScheduleRequests.toSchedule(request);
             schedule.setCreatedAt(LocalDateTime.now());
             schedule.setUpdatedAt(LocalDateTime.now());
             
@@ -452,9 +611,9 @@ public class ScheduleController {
             @Parameter(description = "Schedule ID", example = "1")
             @PathVariable Long id,
             @Valid @RequestBody UpdateScheduleRequest request,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromRequest(httpRequest);
+            Long userId = currentUser.getUserId();
             
             // Check if schedule exists and belongs to user
             Optional<Schedule> existingScheduleOpt = scheduleService.getScheduleById(id);
@@ -469,18 +628,13 @@ public class ScheduleController {
             }
             
             // Validate date and time logic
-            if (request.getFromDate().isAfter(request.getToDate())) {
+            String rangeError = ScheduleRequests.validateRange(request);
+            if (rangeError != null) {
                 return ResponseEntity.badRequest()
-                        .body(new ErrorResponse(400, DATE_ERROR));
+                        .body(new ErrorResponse(400, rangeError));
             }
             
-            if (request.getFromDate().equals(request.getToDate()) && 
-                request.getFromTime().isAfter(request.getToTime())) {
-                return ResponseEntity.badRequest()
-                        .body(new ErrorResponse(400, TIME_ERROR));
-            }
-            
-            Schedule updatedSchedule = convertToScheduleForUpdate(request, userId);
+            Schedule updatedSchedule = ScheduleRequests.toSchedule(request, userId);
             updatedSchedule.setUpdatedAt(LocalDateTime.now());
             
             Schedule savedSchedule = scheduleService.updateSchedule(id, updatedSchedule);
@@ -536,9 +690,9 @@ public class ScheduleController {
     public ResponseEntity<Object> deleteSchedule(
             @Parameter(description = "Schedule ID", example = "1")
             @PathVariable Long id,
-            HttpServletRequest request) {
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromRequest(request);
+            Long userId = currentUser.getUserId();
             
             // Check if schedule exists and belongs to user
             Optional<Schedule> scheduleOpt = scheduleService.getScheduleById(id);
@@ -597,9 +751,9 @@ public class ScheduleController {
     })
     public ResponseEntity<Object> checkScheduleConflict(
             @Valid @RequestBody CreateScheduleRequest request,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromRequest(httpRequest);
+            Long userId = currentUser.getUserId();
             
             boolean hasConflict = scheduleService.hasScheduleConflict(
                 userId, 
@@ -653,9 +807,9 @@ public class ScheduleController {
     })
     public ResponseEntity<Object> bulkCreateSchedules(
             @Valid @RequestBody BulkScheduleCreateRequest request,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromRequest(httpRequest);
+            Long userId = currentUser.getUserId();
             
             List<CreateScheduleRequest> schedules = request.getSchedules();
             List<ScheduleResponse> createdSchedules = new ArrayList<>();
@@ -681,13 +835,159 @@ public class ScheduleController {
         }
     }
     
+    @PostMapping("/bulk/async")
+    @Operation(
+        summary = "Submit Bulk Schedule Import",
+        description = "Queue a bulk schedule creation for the authenticated user and return immediately. " +
+                      "Poll GET /schedules/bulk/{jobId} for progress."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Import accepted",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BulkImportJobResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request data",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - Invalid token",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<Object> submitBulkScheduleImport(
+            @Valid @RequestBody BulkScheduleCreateRequest request,
+            @CurrentUser AuthenticatedUser currentUser) {
+        try {
+            Long userId = currentUser.getUserId();
+            
+            List<CreateScheduleRequest> schedules = request.getSchedules();
+            List<BulkScheduleCreateResponse.BulkScheduleError> errors = new ArrayList<>();
+            
+            // Pre-validate user ownership
+            validateUserOwnership(schedules, userId, errors);
+            
+            if (!errors.isEmpty() && !request.isSkipConflicts()) {
+                return ResponseEntity.badRequest()
+                        .body(new ErrorResponse(400, "Validation failed for some schedules"));
+            }
+            
+            validateSchedules(schedules, errors);
+            
+            BulkImportJob job = bulkImportJobService.submit(userId, schedules, errors);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/ltt-sme-planner/v1/schedules/bulk/" + job.getId()))
+                    .body(convertToBulkImportJobResponse(job));
+                    
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(500, "Failed to submit bulk schedule import: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping(value = "/import", consumes = { NDJSON_MEDIA_TYPE, CSV_MEDIA_TYPE }, produces = NDJSON_MEDIA_TYPE)
+    @Operation(
+        summary = "Stream Schedule Import",
+        description = "Import schedules for the authenticated user from NDJSON (one CreateScheduleRequest per line) " +
+                      "or CSV (header row with the same property names). Rows are parsed and inserted in chunks, " +
+                      "and one NDJSON result line per row is streamed back as each chunk completes."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Per-row results, one JSON object per line",
+            content = @Content(
+                mediaType = NDJSON_MEDIA_TYPE,
+                schema = @Schema(implementation = ScheduleImportRowResult.class)
+            )
+        ),
+        @ApiResponse(responseCode = "415", description = "Body is neither NDJSON nor CSV"),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - Invalid token",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> importSchedules(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @CurrentUser AuthenticatedUser currentUser) {
+        Long userId = currentUser.getUserId();
+        ScheduleImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf(CSV_MEDIA_TYPE))
+                ? ScheduleImportService.Format.CSV
+                : ScheduleImportService.Format.NDJSON;
+        
+        StreamingResponseBody stream = output -> scheduleImportService.importSchedules(body, format, userId, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf(NDJSON_MEDIA_TYPE))
+                .body(stream);
+    }
+    
+    @GetMapping("/bulk/{jobId}")
+    @Operation(
+        summary = "Get Bulk Schedule Import Progress",
+        description = "Get the status, progress, created count and errors so far of a bulk schedule import"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import progress",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BulkImportJobResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Import job not found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<Object> getBulkScheduleImport(
+            @Parameter(description = "Import job ID", required = true)
+            @PathVariable Long jobId,
+            @CurrentUser AuthenticatedUser currentUser) {
+        try {
+            Optional<BulkImportJob> job = bulkImportJobService.getJob(jobId);
+            
+            // Jobs of other users are reported as missing
+            if (job.isEmpty() || !job.get().getUserId().equals(currentUser.getUserId())) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse(404, "Bulk import job not found with id: " + jobId));
+            }
+            
+            return ResponseEntity.ok(convertToBulkImportJobResponse(job.get()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(500, "Failed to retrieve bulk import job: " + e.getMessage()));
+        }
+    }
+    
     private void validateUserOwnership(List<CreateScheduleRequest> schedules, Long userId, 
                                      List<BulkScheduleCreateResponse.BulkScheduleError> errors) {
         for (int i = 0; i < schedules.size(); i++) {
             CreateScheduleRequest scheduleRequest = schedules.get(i);
             if (!scheduleRequest.getUserId().equals(userId)) {
                 errors.add(new BulkScheduleCreateResponse.BulkScheduleError(
-                    i, "You can only create schedules for yourself", scheduleRequest
+                    i, ScheduleRequests.OWNERSHIP_ERROR, scheduleRequest
                 ));
             }
         }
@@ -696,57 +996,45 @@ public class ScheduleController {
     private void processBulkSchedules(List<CreateScheduleRequest> schedules,
                                     List<ScheduleResponse> createdSchedules,
                                     List<BulkScheduleCreateResponse.BulkScheduleError> errors) {
+        Map<Integer, Schedule> candidates = new LinkedHashMap<>();
+        for (int index : validateSchedules(schedules, errors)) {
+            candidates.put(index, ScheduleRequests.toSchedule(schedules.get(index)));
+        }
+        
+        BulkScheduleService.BulkResult result = bulkScheduleService.createSchedules(candidates);
+        result.getErrors().forEach((index, message) -> errors.add(
+            new BulkScheduleCreateResponse.BulkScheduleError(index, message, schedules.get(index))
+        ));
+        for (Schedule savedSchedule : result.getCreated()) {
+            createdSchedules.add(convertToScheduleResponse(savedSchedule));
+        }
+    }
+    
+    /**
+     * Validate the date and time range of every schedule that has no error yet.
+     * Returns the indexes of the schedules that are still valid.
+     */
+    private List<Integer> validateSchedules(List<CreateScheduleRequest> schedules,
+                                            List<BulkScheduleCreateResponse.BulkScheduleError> errors) {
+        Set<Integer> failedIndexes = errors.stream()
+                .map(BulkScheduleCreateResponse.BulkScheduleError::getIndex)
+                .collect(Collectors.toSet());
+        
+        List<Integer> validIndexes = new ArrayList<>();
         for (int i = 0; i < schedules.size(); i++) {
-            final int index = i;
             CreateScheduleRequest scheduleRequest = schedules.get(i);
             
             // Skip if this schedule already has a validation error
-            if (!hasExistingError(errors, index)) {
-                String validationError = validateScheduleRequest(scheduleRequest);
+            if (!failedIndexes.contains(i)) {
+                String validationError = ScheduleRequests.validateRange(scheduleRequest);
                 if (validationError != null) {
-                    errors.add(new BulkScheduleCreateResponse.BulkScheduleError(index, validationError, scheduleRequest));
+                    errors.add(new BulkScheduleCreateResponse.BulkScheduleError(i, validationError, scheduleRequest));
                 } else {
-                    processIndividualSchedule(index, scheduleRequest, createdSchedules, errors);
+                    validIndexes.add(i);
                 }
             }
         }
-    }
-    
-    private boolean hasExistingError(List<BulkScheduleCreateResponse.BulkScheduleError> errors, int index) {
-        return errors.stream().anyMatch(error -> error.getIndex() == index);
-    }
-    
-    private String validateScheduleRequest(CreateScheduleRequest scheduleRequest) {
-        if (scheduleRequest.getFromDate().isAfter(scheduleRequest.getToDate())) {
-            return DATE_ERROR;
-        }
-        
-        if (scheduleRequest.getFromDate().equals(scheduleRequest.getToDate()) && 
-            scheduleRequest.getFromTime().isAfter(scheduleRequest.getToTime())) {
-            return TIME_ERROR;
-        }
-        
-        return null;
-    }
-    
-    private void processIndividualSchedule(int index, CreateScheduleRequest scheduleRequest,
-                                         List<ScheduleResponse> createdSchedules,
-                                         List<BulkScheduleCreateResponse.BulkScheduleError> errors) {
-        try {
-            Schedule schedule = convertToSchedule(scheduleRequest);
-            schedule.setCreatedAt(LocalDateTime.now());
-            schedule.setUpdatedAt(LocalDateTime.now());
-            
-            Schedule savedSchedule = scheduleService.createSchedule(schedule);
-            createdSchedules.add(convertToScheduleResponse(savedSchedule));
-            
-        } catch (IllegalArgumentException e) {
-            errors.add(new BulkScheduleCreateResponse.BulkScheduleError(index, e.getMessage(), scheduleRequest));
-        } catch (Exception e) {
-            errors.add(new BulkScheduleCreateResponse.BulkScheduleError(
-                index, "Unexpected error: " + e.getMessage(), scheduleRequest
-            ));
-        }
+        return validIndexes;
     }
     
     private BulkScheduleCreateResponse createBulkResponse(List<CreateScheduleRequest> schedules,
@@ -763,47 +1051,23 @@ public class ScheduleController {
     
     // Helper methods
     
-    private Long getUserIdFromRequest(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new InvalidTokenException("Authorization header missing or invalid format");
-        }
-        
-        try {
-            String token = authHeader.substring(7);
-            return jwtUtil.getUserIdFromToken(token);
-        } catch (Exception e) {
-            throw new InvalidTokenException("Invalid or expired token", e);
-        }
-    }
-    
-    private Schedule convertToSchedule(CreateScheduleRequest request) {
-        Schedule schedule = new Schedule();
-        schedule.setUserId(request.getUserId());
-        schedule.setFromDate(request.getFromDate());
-        schedule.setToDate(request.getToDate());
-        schedule.setFromTime(request.getFromTime());
-        schedule.setToTime(request.getToTime());
-        schedule.setActivityId(request.getActivityId());
-        schedule.setActivityName(request.getActivityName());
-        schedule.setDescription(request.getDescription());
-        return schedule;
-    }
-    
-    private Schedule convertToScheduleForUpdate(UpdateScheduleRequest request, Long userId) {
-        Schedule schedule = new Schedule();
-        schedule.setUserId(userId);
-        schedule.setFromDate(request.getFromDate());
-        schedule.setToDate(request.getToDate());
-        schedule.setFromTime(request.getFromTime());
-        schedule.setToTime(request.getToTime());
-        schedule.setActivityId(request.getActivityId());
-        schedule.setActivityName(request.getActivityName());
-        schedule.setDescription(request.getDescription());
-        return schedule;
+    private BulkImportJobResponse convertToBulkImportJobResponse(BulkImportJob job) {
+        BulkImportJobResponse response = new BulkImportJobResponse();
+        response.setJobId(job.getId());
+        response.setStatus(job.getStatus());
+        response.setTotalRequested(job.getTotalRequested());
+        response.setProcessed(job.getProcessed());
+        response.setSuccessfullyCreated(job.getCreatedCount());
+        response.setFailed(job.getFailedCount());
+        response.setErrors(bulkImportJobService.getErrors(job));
+        response.setErrorMessage(job.getErrorMessage());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setUpdatedAt(job.getUpdatedAt());
+        return response;
     }
     
-    private ScheduleResponse convertToScheduleResponse(Schedule schedule) {
+    // Package-private for ScheduleResponseBenchmark
+    ScheduleResponse convertToScheduleResponse(Schedule schedule) {
         ScheduleResponse response = new ScheduleResponse();
         response.setId(schedule.getId());
         response.setUserId(schedule.getUserId());
@@ -819,27 +1083,86 @@ public class ScheduleController {
         return response;
     }
     
-    private String getCurrentUserRole(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new InvalidTokenException("Authorization header missing or invalid format");
+    private Optional<DirectoryUser> getUserById(Long userId) {
+        return userDirectory.findById(userId);
+    }
+    
+    private boolean canActAsSme(DirectoryUser user) {
+        UserRole role = user.getRole();
+        return role == UserRole.SME || role == UserRole.SUPERVISOR || role == UserRole.LEAD;
+    }
+    
+    /**
+     * Check that the current user may view the given SME's schedules; returns the error to report, or null
+     */
+    private ErrorResponse checkSmeScheduleAccess(Long smeId, AuthenticatedUser currentUser) {
+        String currentUserRole = currentUser.getRole().toString();
+        
+        // Check if user has permission to view SME schedules (SME, SUPERVISOR, or LEAD)
+        if (!("SME".equals(currentUserRole) || "SUPERVISOR".equals(currentUserRole) || "LEAD".equals(currentUserRole))) {
+            return new ErrorResponse(403, "Only SME, SUPERVISOR and LEAD roles can view SME schedules");
         }
         
-        try {
-            String token = authHeader.substring(7);
-            return jwtUtil.getRoleFromToken(token);
-        } catch (Exception e) {
-            throw new InvalidTokenException("Invalid or expired token", e);
+        // Verify that the SME exists and can act as SME
+        Optional<DirectoryUser> smeUserOpt = getUserById(smeId);
+        if (smeUserOpt.isEmpty()) {
+            return new ErrorResponse(404, "SME not found with ID: " + smeId);
+        }
+        
+        if (!canActAsSme(smeUserOpt.get())) {
+            return new ErrorResponse(403, "User with ID " + smeId + " is not an SME");
         }
+        return null;
     }
     
-    private Optional<User> getUserById(Long userId) {
-        return userRepository.findById(userId);
+    /**
+     * Load one page of a user's schedules. One row more than the page size is
+     * read to tell whether a next page exists.
+     */
+    private SchedulePageResponse getSchedulePage(Long userId, String cursor, Integer size) {
+        int pageSize = size != null ? size : listingProperties.getPageSize();
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        pageSize = Math.min(pageSize, listingProperties.getMaxPageSize());
+        
+        ScheduleCursor position = cursor != null && !cursor.isEmpty() ? ScheduleCursor.decode(cursor) : null;
+        List<Schedule> schedules = scheduleService.getSchedulePageByUserId(userId, position, pageSize + 1);
+        
+        String nextCursor = null;
+        if (schedules.size() > pageSize) {
+            schedules = schedules.subList(0, pageSize);
+            nextCursor = ScheduleCursor.after(schedules.get(pageSize - 1)).encode();
+        }
+        
+        List<ScheduleResponse> items = schedules.stream()
+                .map(this::convertToScheduleResponse)
+                .toList();
+        return new SchedulePageResponse(items, nextCursor, pageSize);
     }
     
-    private boolean canActAsSme(User user) {
-        UserRole role = user.getRole();
-        return role == UserRole.SME || role == UserRole.SUPERVISOR || role == UserRole.LEAD;
+    /**
+     * Write all schedules of a user as NDJSON while they are read from the database
+     */
+    private ResponseEntity<StreamingResponseBody> streamSchedules(Long userId) {
+        StreamingResponseBody stream = output -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                scheduleService.forEachScheduleByUserId(userId, schedule -> {
+                    try {
+                        generator.writeObject(convertToScheduleResponse(schedule));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeRaw('\n');
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf(NDJSON_MEDIA_TYPE))
+                .body(stream);
     }
     
     private List<Schedule> getSchedulesForSme(Long smeId, String month) {
@@ -1,10 +1,16 @@
 package com.edulearnorg.ltt.smeplanner.controller;
 
+import com.edulearnorg.ltt.smeplanner.dto.AvailabilityHeatmapRequest;
+import com.edulearnorg.ltt.smeplanner.dto.AvailabilityHeatmapResponse;
+import com.edulearnorg.ltt.smeplanner.dto.AvailableSlotResponse;
+import com.edulearnorg.ltt.smeplanner.dto.SlotSearchRequest;
 import com.edulearnorg.ltt.smeplanner.dto.UserAvailabilitySearchRequest;
 import com.edulearnorg.ltt.smeplanner.dto.UserAvailabilityResponse;
 import com.edulearnorg.ltt.smeplanner.dto.ErrorResponse;
 import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+import com.edulearnorg.ltt.smeplanner.service.AvailabilityHeatmapService;
 import com.edulearnorg.ltt.smeplanner.service.ScheduleService;
+import com.edulearnorg.ltt.smeplanner.service.SlotFinderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -36,6 +42,12 @@ public class UserAvailabilityController {
     @Autowired
     private ScheduleService scheduleService;
     
+    @Autowired
+    private SlotFinderService slotFinderService;
+    
+    @Autowired
+    private AvailabilityHeatmapService availabilityHeatmapService;
+    
     /**
      * Search for user availability using GET request with query parameters
      */
@@ -329,4 +341,123 @@ public class UserAvailabilityController {
                     .body(new ErrorResponse(500, "Failed to search available users: " + e.getMessage()));
         }
     }
+    
+    /**
+     * Find the earliest slots in which enough of the given users are all free
+     */
+    @PostMapping("/slots")
+    @Operation(
+        summary = "Find Free Slots",
+        description = "Find the earliest non-overlapping slots of the given length in a date range in which at least " +
+                      "'requiredCount' of the given users are all free, optionally within daily hours. Slots are ordered by start time."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Free slots found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AvailableSlotResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request data",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "User not found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - Invalid token",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<?> findFreeSlots(@Valid @RequestBody SlotSearchRequest slotSearchRequest) {
+        try {
+            List<AvailableSlotResponse> slots = slotFinderService.findSlots(slotSearchRequest);
+            return ResponseEntity.ok(slots);
+            
+        } catch (IllegalArgumentException e) {
+            HttpStatus status = e.getMessage().startsWith("User not found") ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                    .body(new ErrorResponse(status.value(), e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(500, "Failed to find free slots: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Count the free members of a team in every slot of a date range
+     */
+    @PostMapping("/heatmap")
+    @Operation(
+        summary = "Team Availability Heatmap",
+        description = "Count how many of a supervisor's reportees, or of the users with the given roles (at most 200), are free for " +
+                      "the whole of each slot in a date range of up to 92 days. Slots are a multiple of 15 minutes long, " +
+                      "optionally within daily hours. The counts are returned as one row per date and one column per slot. " +
+                      "Counts come from in-memory availability bitmaps, so schedules changed through another instance may " +
+                      "not be reflected for up to occupancy.max-age-minutes (5 by default)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Heatmap computed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AvailabilityHeatmapResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request data",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Supervisor not found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - Invalid token",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<?> getAvailabilityHeatmap(@Valid @RequestBody AvailabilityHeatmapRequest heatmapRequest) {
+        try {
+            AvailabilityHeatmapResponse heatmap = availabilityHeatmapService.getHeatmap(heatmapRequest);
+            return ResponseEntity.ok(heatmap);
+            
+        } catch (IllegalArgumentException e) {
+            HttpStatus status = e.getMessage().startsWith("User not found") ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                    .body(new ErrorResponse(status.value(), e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(500, "Failed to compute availability heatmap: " + e.getMessage()));
+        }
+    }
 }
@@ -5,8 +5,6 @@ import java.util.Optional;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.edulearnorg.ltt.smeplanner.config.AuthenticatedUser;
+import com.edulearnorg.ltt.smeplanner.config.CurrentUser;
 import com.edulearnorg.ltt.smeplanner.dto.CreateUserRequest;
 import com.edulearnorg.ltt.smeplanner.dto.ErrorResponse;
 import com.edulearnorg.ltt.smeplanner.dto.UpdateUserRoleRequest;
@@ -126,26 +126,21 @@ public class UserController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasRole('SME') or hasRole('SUPERVISOR') or hasRole('LEAD')")
-    public ResponseEntity<Object> getCurrentUser() {
+    public ResponseEntity<Object> getCurrentUser(@CurrentUser AuthenticatedUser principal) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            
-            if (authentication == null || authentication.getPrincipal() == null) {
-                return ResponseEntity.status(401).body(new ErrorResponse(401, "User not authenticated"));
+            // The principal carries only the identity verified by JwtAuthenticationFilter
+            Optional<User> currentUser = userService.getUserById(principal.getUserId());
+            if (currentUser.isEmpty()) {
+                return ResponseEntity.status(404).body(new ErrorResponse(404, "Current user not found"));
             }
             
-            // The principal is the User entity set in JwtAuthenticationFilter
-            if (authentication.getPrincipal() instanceof User currentUser) {
-                UserResponse userResponse = new UserResponse(
-                    currentUser.getId(), 
-                    currentUser.getName(), 
-                    currentUser.getEmail(), 
-                    currentUser.getRole().toString()
-                );
-                return ResponseEntity.ok(userResponse);
-            } else {
-                return ResponseEntity.status(401).body(new ErrorResponse(401, "Invalid authentication principal"));
-            }
+            UserResponse userResponse = new UserResponse(
+                currentUser.get().getId(), 
+                currentUser.get().getName(), 
+                currentUser.get().getEmail(), 
+                currentUser.get().getRole().toString()
+            );
+            return ResponseEntity.ok(userResponse);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(new ErrorResponse(500, "Internal server error: " + e.getMessage()));
         }
@@ -0,0 +1,70 @@
+package com.edulearnorg.ltt.smeplanner.dto;
+
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Request DTO for counting the free users of a team in every slot of a date range
+ */
+@Schema(description = "Request for a heatmap of how many users of a team are free in each slot of a date range")
+public class AvailabilityHeatmapRequest {
+    
+    @Schema(description = "Supervisor whose reportees form the team (optional if roles are given)", example = "2")
+    private Long supervisorId;
+    
+    @Schema(description = "Roles of the team members; with a supervisor it filters the reportees (default SME)",
+            example = "[\"SME\"]")
+    private List<UserRole> roles;
+    
+    @NotNull(message = "Start date is required")
+    @Schema(description = "First date of the heatmap", example = "2025-07-01")
+    private LocalDate startDate;
+    
+    @NotNull(message = "End date is required")
+    @Schema(description = "Last date of the heatmap", example = "2025-07-31")
+    private LocalDate endDate;
+    
+    @Min(value = 15, message = "Slot length must be at least 15 minutes")
+    @Max(value = 1440, message = "Slot length must not exceed 1440 minutes")
+    @Schema(description = "Length of a slot in minutes, a multiple of 15 (default 30)", example = "30")
+    private Integer slotMinutes;
+    
+    @Schema(description = "Start of the daily window (optional, with dayEndTime; default the whole day)", example = "09:00:00")
+    private LocalTime dayStartTime;
+    
+    @Schema(description = "End of the daily window (optional, with dayStartTime)", example = "18:00:00")
+    private LocalTime dayEndTime;
+    
+    // Constructors
+    public AvailabilityHeatmapRequest() {}
+    
+    // Getters and Setters
+    public Long getSupervisorId() { return supervisorId; }
+    public void setSupervisorId(Long supervisorId) { this.supervisorId = supervisorId; }
+    
+    public List<UserRole> getRoles() { return roles; }
+    public void setRoles(List<UserRole> roles) { this.roles = roles; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public Integer getSlotMinutes() { return slotMinutes; }
+    public void setSlotMinutes(Integer slotMinutes) { this.slotMinutes = slotMinutes; }
+    
+    public LocalTime getDayStartTime() { return dayStartTime; }
+    public void setDayStartTime(LocalTime dayStartTime) { this.dayStartTime = dayStartTime; }
+    
+    public LocalTime getDayEndTime() { return dayEndTime; }
+    public void setDayEndTime(LocalTime dayEndTime) { this.dayEndTime = dayEndTime; }
+}
@@ -0,0 +1,58 @@
+package com.edulearnorg.ltt.smeplanner.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Response DTO for the number of free team members in every slot of a date range
+ */
+@Schema(description = "Free team member counts by date and slot")
+public class AvailabilityHeatmapResponse {
+    
+    @Schema(description = "Number of users in the team", example = "12")
+    private int userCount;
+    
+    @Schema(description = "Length of a slot in minutes", example = "30")
+    private int slotMinutes;
+    
+    @Schema(description = "Dates of the rows of freeCounts", example = "[\"2025-07-01\", \"2025-07-02\"]")
+    private List<LocalDate> dates;
+    
+    @Schema(description = "Start times of the columns of freeCounts", example = "[\"09:00:00\", \"09:30:00\"]")
+    private List<LocalTime> slotStartTimes;
+    
+    @Schema(description = "Number of users free for the whole slot, one row per date and one column per slot",
+            example = "[[12, 10], [11, 12]]")
+    private int[][] freeCounts;
+    
+    // Constructors
+    public AvailabilityHeatmapResponse() {}
+    
+    public AvailabilityHeatmapResponse(int userCount, int slotMinutes, List<LocalDate> dates,
+                                       List<LocalTime> slotStartTimes, int[][] freeCounts) {
+        this.userCount = userCount;
+        this.slotMinutes = slotMinutes;
+        this.dates = dates;
+        this.slotStartTimes = slotStartTimes;
+        this.freeCounts = freeCounts;
+    }
+    
+    // Getters and Setters
+    public int getUserCount() { return userCount; }
+    public void setUserCount(int userCount) { this.userCount = userCount; }
+    
+    public int getSlotMinutes() { return slotMinutes; }
+    public void setSlotMinutes(int slotMinutes) { this.slotMinutes = slotMinutes; }
+    
+    public List<LocalDate> getDates() { return dates; }
+    public void setDates(List<LocalDate> dates) { this.dates = dates; }
+    
+    public List<LocalTime> getSlotStartTimes() { return slotStartTimes; }
+    public void setSlotStartTimes(List<LocalTime> slotStartTimes) { this.slotStartTimes = slotStartTimes; }
+    
+    public int[][] getFreeCounts() { return freeCounts; }
+    public void setFreeCounts(int[][] freeCounts) { this.freeCounts = freeCounts; }
+}
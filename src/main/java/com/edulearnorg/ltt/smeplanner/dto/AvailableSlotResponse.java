@@ -0,0 +1,41 @@
+package com.edulearnorg.ltt.smeplanner.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for a time slot in which enough of the searched users are free
+ */
+@Schema(description = "Time slot with the users free for all of it")
+public class AvailableSlotResponse {
+    
+    @Schema(description = "Start of the slot", example = "2025-07-15T09:00:00")
+    private LocalDateTime startAt;
+    
+    @Schema(description = "End of the slot", example = "2025-07-15T10:00:00")
+    private LocalDateTime endAt;
+    
+    @Schema(description = "Searched users free for the whole slot", example = "[5, 7]")
+    private List<Long> availableUserIds;
+    
+    // Constructors
+    public AvailableSlotResponse() {}
+    
+    public AvailableSlotResponse(LocalDateTime startAt, LocalDateTime endAt, List<Long> availableUserIds) {
+        this.startAt = startAt;
+        this.endAt = endAt;
+        this.availableUserIds = availableUserIds;
+    }
+    
+    // Getters and Setters
+    public LocalDateTime getStartAt() { return startAt; }
+    public void setStartAt(LocalDateTime startAt) { this.startAt = startAt; }
+    
+    public LocalDateTime getEndAt() { return endAt; }
+    public void setEndAt(LocalDateTime endAt) { this.endAt = endAt; }
+    
+    public List<Long> getAvailableUserIds() { return availableUserIds; }
+    public void setAvailableUserIds(List<Long> availableUserIds) { this.availableUserIds = availableUserIds; }
+}
@@ -0,0 +1,79 @@
+package com.edulearnorg.ltt.smeplanner.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.edulearnorg.ltt.smeplanner.enums.BulkImportJobStatus;
+
+/**
+ * Response DTO for the state of an asynchronous bulk schedule import
+ */
+@Schema(description = "Progress of an asynchronous bulk schedule import")
+public class BulkImportJobResponse {
+    
+    @Schema(description = "Job ID", example = "12")
+    private Long jobId;
+    
+    @Schema(description = "Job status", example = "RUNNING")
+    private BulkImportJobStatus status;
+    
+    @Schema(description = "Total number of schedules in the request", example = "5000")
+    private int totalRequested;
+    
+    @Schema(description = "Number of schedules processed so far", example = "1500")
+    private int processed;
+    
+    @Schema(description = "Number of schedules created so far", example = "1480")
+    private int successfullyCreated;
+    
+    @Schema(description = "Number of schedules rejected so far", example = "20")
+    private int failed;
+    
+    @Schema(description = "Errors for the schedules rejected so far")
+    private List<BulkScheduleCreateResponse.BulkScheduleError> errors;
+    
+    @Schema(description = "Reason the job failed, if it did")
+    private String errorMessage;
+    
+    @Schema(description = "Time the job was submitted")
+    private LocalDateTime createdAt;
+    
+    @Schema(description = "Time of the last progress update")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public BulkImportJobResponse() {}
+    
+    // Getters and Setters
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+    
+    public BulkImportJobStatus getStatus() { return status; }
+    public void setStatus(BulkImportJobStatus status) { this.status = status; }
+    
+    public int getTotalRequested() { return totalRequested; }
+    public void setTotalRequested(int totalRequested) { this.totalRequested = totalRequested; }
+    
+    public int getProcessed() { return processed; }
+    public void setProcessed(int processed) { this.processed = processed; }
+    
+    public int getSuccessfullyCreated() { return successfullyCreated; }
+    public void setSuccessfullyCreated(int successfullyCreated) { this.successfullyCreated = successfullyCreated; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public List<BulkScheduleCreateResponse.BulkScheduleError> getErrors() { return errors; }
+    public void setErrors(List<BulkScheduleCreateResponse.BulkScheduleError> errors) { this.errors = errors; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
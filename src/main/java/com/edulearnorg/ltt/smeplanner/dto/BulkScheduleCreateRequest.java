@@ -16,7 +16,7 @@ public class BulkScheduleCreateRequest {
     
     @NotNull(message = "Schedules list is required")
     @NotEmpty(message = "At least one schedule must be provided")
-    @Size(max = 50, message = "Cannot create more than 50 schedules at once")
+    @Size(max = 5000, message = "Cannot create more than 5000 schedules at once")
     @Valid
     @Schema(description = "List of schedules to create", example = "[{...}]")
     private List<CreateScheduleRequest> schedules;
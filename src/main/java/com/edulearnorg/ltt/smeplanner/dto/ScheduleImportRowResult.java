@@ -0,0 +1,57 @@
+package com.edulearnorg.ltt.smeplanner.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Result of one row of a streamed schedule import, written as one NDJSON line
+ */
+@Schema(description = "Outcome of one imported row")
+public class ScheduleImportRowResult {
+    
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+    
+    @Schema(description = "1-based row number in the input, not counting a CSV header", example = "42")
+    private long row;
+    
+    @Schema(description = "Row outcome", example = "CREATED", allowableValues = {CREATED, FAILED})
+    private String status;
+    
+    @Schema(description = "ID of the created schedule", example = "1201")
+    private Long scheduleId;
+    
+    @Schema(description = "Reason the row was rejected", example = "Schedule conflicts with existing schedule(s)")
+    private String message;
+    
+    // Constructors
+    public ScheduleImportRowResult() {}
+    
+    public static ScheduleImportRowResult created(long row, Long scheduleId) {
+        ScheduleImportRowResult result = new ScheduleImportRowResult();
+        result.row = row;
+        result.status = CREATED;
+        result.scheduleId = scheduleId;
+        return result;
+    }
+    
+    public static ScheduleImportRowResult failed(long row, String message) {
+        ScheduleImportRowResult result = new ScheduleImportRowResult();
+        result.row = row;
+        result.status = FAILED;
+        result.message = message;
+        return result;
+    }
+    
+    // Getters and Setters
+    public long getRow() { return row; }
+    public void setRow(long row) { this.row = row; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public Long getScheduleId() { return scheduleId; }
+    public void setScheduleId(Long scheduleId) { this.scheduleId = scheduleId; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,40 @@
+package com.edulearnorg.ltt.smeplanner.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One page of a user's schedules ordered by start date and ID
+ */
+@Schema(description = "Page of schedules with the cursor of the next page")
+public class SchedulePageResponse {
+    
+    @Schema(description = "Schedules of this page")
+    private List<ScheduleResponse> items;
+    
+    @Schema(description = "Cursor to pass as 'cursor' for the next page; absent on the last page", example = "MjAyNS0wNy0xNToxMjM")
+    private String nextCursor;
+    
+    @Schema(description = "Page size used for this page", example = "100")
+    private int size;
+    
+    // Constructors
+    public SchedulePageResponse() {}
+    
+    public SchedulePageResponse(List<ScheduleResponse> items, String nextCursor, int size) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+    
+    // Getters and Setters
+    public List<ScheduleResponse> getItems() { return items; }
+    public void setItems(List<ScheduleResponse> items) { this.items = items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
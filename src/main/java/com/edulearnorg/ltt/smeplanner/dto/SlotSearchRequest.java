@@ -0,0 +1,81 @@
+package com.edulearnorg.ltt.smeplanner.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Request DTO for finding time slots in which enough users of a team are free
+ */
+@Schema(description = "Request for the earliest slots of a given length in which enough of the given users are free")
+public class SlotSearchRequest {
+    
+    @NotEmpty(message = "User IDs are required")
+    @Size(max = 200, message = "At most 200 users can be searched at once")
+    @Schema(description = "Users to find a common slot for", example = "[5, 6, 7]")
+    private List<Long> userIds;
+    
+    @NotNull(message = "Start date is required")
+    @Schema(description = "First date of the search range", example = "2025-07-01")
+    private LocalDate startDate;
+    
+    @NotNull(message = "End date is required")
+    @Schema(description = "Last date of the search range", example = "2025-07-31")
+    private LocalDate endDate;
+    
+    @NotNull(message = "Duration is required")
+    @Min(value = 1, message = "Duration must be at least 1 minute")
+    @Max(value = 1440, message = "Duration must not exceed 1440 minutes")
+    @Schema(description = "Length of the slot in minutes", example = "60")
+    private Integer durationMinutes;
+    
+    @Min(value = 1, message = "Required count must be at least 1")
+    @Schema(description = "Number of the users that must all be free; defaults to all of them", example = "2")
+    private Integer requiredCount;
+    
+    @Min(value = 1, message = "Max results must be at least 1")
+    @Max(value = 100, message = "Max results must not exceed 100")
+    @Schema(description = "Number of slots to return (default 10)", example = "5")
+    private Integer maxResults;
+    
+    @Schema(description = "Start of the daily window slots must fall in (optional, with dayEndTime)", example = "09:00:00")
+    private LocalTime dayStartTime;
+    
+    @Schema(description = "End of the daily window slots must fall in (optional, with dayStartTime)", example = "18:00:00")
+    private LocalTime dayEndTime;
+    
+    // Constructors
+    public SlotSearchRequest() {}
+    
+    // Getters and Setters
+    public List<Long> getUserIds() { return userIds; }
+    public void setUserIds(List<Long> userIds) { this.userIds = userIds; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
+    
+    public Integer getRequiredCount() { return requiredCount; }
+    public void setRequiredCount(Integer requiredCount) { this.requiredCount = requiredCount; }
+    
+    public Integer getMaxResults() { return maxResults; }
+    public void setMaxResults(Integer maxResults) { this.maxResults = maxResults; }
+    
+    public LocalTime getDayStartTime() { return dayStartTime; }
+    public void setDayStartTime(LocalTime dayStartTime) { this.dayStartTime = dayStartTime; }
+    
+    public LocalTime getDayEndTime() { return dayEndTime; }
+    public void setDayEndTime(LocalTime dayEndTime) { this.dayEndTime = dayEndTime; }
+}
@@ -0,0 +1,124 @@
+package com.edulearnorg.ltt.smeplanner.entity;
+
+import com.edulearnorg.ltt.smeplanner.enums.BulkImportJobStatus;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Asynchronous bulk schedule import and its progress.
+ * The request and the errors so far are stored as JSON.
+ */
+@Entity
+@Table(name = "bulk_import_jobs")
+public class BulkImportJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BulkImportJobStatus status;
+    
+    @Column(name = "total_requested", nullable = false)
+    private Integer totalRequested;
+    
+    // Number of request items handled so far; the next chunk starts here
+    @Column(nullable = false)
+    private Integer processed = 0;
+    
+    @Column(name = "created_count", nullable = false)
+    private Integer createdCount = 0;
+    
+    @Column(name = "failed_count", nullable = false)
+    private Integer failedCount = 0;
+    
+    @Column(name = "request_payload", nullable = false, columnDefinition = "LONGTEXT")
+    private String requestPayload;
+    
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String errors;
+    
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+    
+    // Guards against two workers committing the same chunk
+    @Version
+    private Long version;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public BulkImportJob() {}
+    
+    public BulkImportJob(Long userId, Integer totalRequested, String requestPayload, String errors, Integer failedCount) {
+        this.userId = userId;
+        this.status = BulkImportJobStatus.PENDING;
+        this.totalRequested = totalRequested;
+        this.requestPayload = requestPayload;
+        this.errors = errors;
+        this.failedCount = failedCount;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public BulkImportJobStatus getStatus() { return status; }
+    public void setStatus(BulkImportJobStatus status) { this.status = status; }
+    
+    public Integer getTotalRequested() { return totalRequested; }
+    public void setTotalRequested(Integer totalRequested) { this.totalRequested = totalRequested; }
+    
+    public Integer getProcessed() { return processed; }
+    public void setProcessed(Integer processed) { this.processed = processed; }
+    
+    public Integer getCreatedCount() { return createdCount; }
+    public void setCreatedCount(Integer createdCount) { this.createdCount = createdCount; }
+    
+    public Integer getFailedCount() { return failedCount; }
+    public void setFailedCount(Integer failedCount) { this.failedCount = failedCount; }
+    
+    public String getRequestPayload() { return requestPayload; }
+    public void setRequestPayload(String requestPayload) { this.requestPayload = requestPayload; }
+    
+    public String getErrors() { return errors; }
+    public void setErrors(String errors) { this.errors = errors; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public boolean isFinished() {
+        return status == BulkImportJobStatus.COMPLETED || status == BulkImportJobStatus.FAILED;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
  * Schedule entity representing user schedules and availability
  */
 @Entity
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = {
+    @Index(name = "idx_schedules_user_start_end", columnList = "user_id, start_at, end_at")
+})
 public class Schedule {
     
     @Id
@@ -31,6 +33,13 @@ public class Schedule {
     @Column(name = "to_time", nullable = false)
     private LocalTime toTime;
     
+    // Derived from fromDate/fromTime and toDate/toTime; schedules occupy the half-open range [startAt, endAt)
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+    
+    @Column(name = "end_at", nullable = false)
+    private LocalDateTime endAt;
+    
     @Column(name = "activity_id", nullable = false)
     private Long activityId;
     
@@ -69,6 +78,7 @@ public class Schedule {
         this.activityId = activityId;
         this.activityName = activityName;
         this.description = description;
+        syncInterval();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -96,6 +106,7 @@ public class Schedule {
     
     public void setFromDate(LocalDate fromDate) {
         this.fromDate = fromDate;
+        syncInterval();
     }
     
     public LocalDate getToDate() {
@@ -104,6 +115,7 @@ public class Schedule {
     
     public void setToDate(LocalDate toDate) {
         this.toDate = toDate;
+        syncInterval();
     }
     
     public LocalTime getFromTime() {
@@ -112,6 +124,7 @@ public class Schedule {
     
     public void setFromTime(LocalTime fromTime) {
         this.fromTime = fromTime;
+        syncInterval();
     }
     
     public LocalTime getToTime() {
@@ -120,6 +133,15 @@ public class Schedule {
     
     public void setToTime(LocalTime toTime) {
         this.toTime = toTime;
+        syncInterval();
+    }
+    
+    public LocalDateTime getStartAt() {
+        return startAt;
+    }
+    
+    public LocalDateTime getEndAt() {
+        return endAt;
     }
     
     public Long getActivityId() {
@@ -180,12 +202,22 @@ public class Schedule {
     
     @PrePersist
     protected void onCreate() {
+        syncInterval();
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
     
     @PreUpdate
     protected void onUpdate() {
+        syncInterval();
         updatedAt = LocalDateTime.now();
     }
+    
+    /**
+     * Recompute startAt/endAt from the date and time columns
+     */
+    private void syncInterval() {
+        startAt = (fromDate != null && fromTime != null) ? fromDate.atTime(fromTime) : null;
+        endAt = (toDate != null && toTime != null) ? toDate.atTime(toTime) : null;
+    }
 }
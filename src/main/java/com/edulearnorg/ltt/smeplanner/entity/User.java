@@ -15,6 +15,8 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "users")
 public class User {
@@ -44,6 +46,10 @@ public class User {
     @JoinColumn(name = "supervisor_id")
     private User supervisor;
     
+    // Maintained by the database on every change to the row
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+    
     // Constructors
     public User() {}
     
@@ -115,4 +121,8 @@ public class User {
     public void setSupervisor(User supervisor) {
         this.supervisor = supervisor;
     }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
 }
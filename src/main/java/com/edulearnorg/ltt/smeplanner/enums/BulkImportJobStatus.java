@@ -0,0 +1,8 @@
+package com.edulearnorg.ltt.smeplanner.enums;
+
+public enum BulkImportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,21 @@
+package com.edulearnorg.ltt.smeplanner.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.edulearnorg.ltt.smeplanner.entity.BulkImportJob;
+import com.edulearnorg.ltt.smeplanner.enums.BulkImportJobStatus;
+
+@Repository
+public interface BulkImportJobRepository extends JpaRepository<BulkImportJob, Long> {
+    
+    // Find jobs in any of the given states, oldest first
+    List<BulkImportJob> findByStatusInOrderByIdAsc(Collection<BulkImportJobStatus> statuses);
+    
+    // Find jobs in the given state last changed before the given time, oldest first
+    List<BulkImportJob> findByStatusAndUpdatedAtBeforeOrderByIdAsc(BulkImportJobStatus status, LocalDateTime updatedAt);
+}
@@ -1,9 +1,10 @@
 package com.edulearnorg.ltt.smeplanner.repository;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,11 +18,31 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     // Find schedules by user ID
     List<Schedule> findByUserId(Long userId);
     
+    // First page of a user's schedules in (fromDate, id) order
+    @Query("SELECT s FROM Schedule s WHERE s.userId = :userId ORDER BY s.fromDate, s.id")
+    List<Schedule> findPageByUserId(@Param("userId") Long userId, Limit limit);
+    
+    // Next page of a user's schedules in (fromDate, id) order, after the given position
+    @Query("SELECT s FROM Schedule s WHERE s.userId = :userId AND " +
+           "(s.fromDate > :fromDate OR (s.fromDate = :fromDate AND s.id > :id)) ORDER BY s.fromDate, s.id")
+    List<Schedule> findPageByUserIdAfter(@Param("userId") Long userId,
+                                        @Param("fromDate") LocalDate fromDate,
+                                        @Param("id") Long id,
+                                        Limit limit);
+    
+    // Count and latest change of a user's schedules, used as the version of the user's schedule list
+    @Query("SELECT COUNT(s), MAX(s.updatedAt) FROM Schedule s WHERE s.userId = :userId")
+    List<Object[]> getScheduleVersionByUserId(@Param("userId") Long userId);
+    
     // Find schedules by activity ID
     List<Schedule> findByActivityId(Long activityId);
     
-    // Find schedules by date range
-    @Query("SELECT s FROM Schedule s WHERE s.fromDate >= :startDate AND s.toDate <= :endDate")
+    // Find the users with schedules for an activity, whose schedules go when it is deleted
+    @Query("SELECT DISTINCT s.userId FROM Schedule s WHERE s.activityId = :activityId")
+    List<Long> findUserIdsByActivityId(@Param("activityId") Long activityId);
+    
+    // Find schedules by date range; fromDate <= :endDate is implied but bounds the index range on fromDate
+    @Query("SELECT s FROM Schedule s WHERE s.fromDate >= :startDate AND s.fromDate <= :endDate AND s.toDate <= :endDate")
     List<Schedule> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
     // Find schedules by user and date range
@@ -30,27 +51,35 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
                                            @Param("startDate") LocalDate startDate, 
                                            @Param("endDate") LocalDate endDate);
     
-    // Find overlapping schedules for a user
+    // Find schedules for a user overlapping the half-open range [startAt, endAt)
     @Query("SELECT s FROM Schedule s WHERE s.userId = :userId AND " +
-           "((s.fromDate <= :toDate AND s.toDate >= :fromDate) AND " +
-           "(s.fromTime <= :toTime AND s.toTime >= :fromTime))")
+           "s.startAt < :endAt AND s.endAt > :startAt")
     List<Schedule> findOverlappingSchedules(@Param("userId") Long userId,
-                                           @Param("fromDate") LocalDate fromDate,
-                                           @Param("toDate") LocalDate toDate,
-                                           @Param("fromTime") LocalTime fromTime,
-                                           @Param("toTime") LocalTime toTime);
+                                           @Param("startAt") LocalDateTime startAt,
+                                           @Param("endAt") LocalDateTime endAt);
     
     // Find all schedules for multiple users on a specific date
     @Query("SELECT s FROM Schedule s WHERE s.userId IN :userIds AND s.fromDate <= :date AND s.toDate >= :date")
     List<Schedule> findByUserIdsAndDate(@Param("userIds") List<Long> userIds, @Param("date") LocalDate date);
     
-    // Find schedules for multiple users within a date and time range
+    // Find schedules for multiple users overlapping the half-open range [startAt, endAt)
     @Query("SELECT s FROM Schedule s WHERE s.userId IN :userIds AND " +
-           "((s.fromDate <= :toDate AND s.toDate >= :fromDate) AND " +
-           "(s.fromTime <= :toTime AND s.toTime >= :fromTime))")
+           "s.startAt < :endAt AND s.endAt > :startAt")
     List<Schedule> findOverlappingSchedulesForUsers(@Param("userIds") List<Long> userIds,
-                                                   @Param("fromDate") LocalDate fromDate,
-                                                   @Param("toDate") LocalDate toDate,
-                                                   @Param("fromTime") LocalTime fromTime,
-                                                   @Param("toTime") LocalTime toTime);
+                                                   @Param("startAt") LocalDateTime startAt,
+                                                   @Param("endAt") LocalDateTime endAt);
+    
+    // Find (userId, startAt, endAt) of schedules for multiple users overlapping the half-open range [startAt, endAt)
+    @Query("SELECT s.userId, s.startAt, s.endAt FROM Schedule s WHERE s.userId IN :userIds AND " +
+           "s.startAt < :endAt AND s.endAt > :startAt")
+    List<Object[]> findOverlappingIntervalsForUsers(@Param("userIds") List<Long> userIds,
+                                                    @Param("startAt") LocalDateTime startAt,
+                                                    @Param("endAt") LocalDateTime endAt);
+    
+    // Find (id, userId, startAt, endAt) of schedules for multiple users overlapping the half-open range [startAt, endAt)
+    @Query("SELECT s.id, s.userId, s.startAt, s.endAt FROM Schedule s WHERE s.userId IN :userIds AND " +
+           "s.startAt < :endAt AND s.endAt > :startAt")
+    List<Object[]> findOverlappingScheduleIntervalsForUsers(@Param("userIds") List<Long> userIds,
+                                                            @Param("startAt") LocalDateTime startAt,
+                                                            @Param("endAt") LocalDateTime endAt);
 }
@@ -1,8 +1,11 @@
 package com.edulearnorg.ltt.smeplanner.repository;
 
+import com.edulearnorg.ltt.smeplanner.dto.ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary;
 import com.edulearnorg.ltt.smeplanner.entity.SmeActivityGroup;
 import com.edulearnorg.ltt.smeplanner.enums.ActivityCategory;
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,12 +16,85 @@ import java.util.Optional;
 @Repository
 public interface SmeActivityGroupRepository extends JpaRepository<SmeActivityGroup, Long> {
     
+    String EFFORT_SUMMARY_SELECT =
+           "SELECT new com.edulearnorg.ltt.smeplanner.dto.ConsolidatedMonthlyEffortResponse$ReporteeEffortSummary(" +
+           "u.id, u.name, u.email, " +
+           "SUM(CASE WHEN sag.category = :smeConnectCategory THEN sag.totalSessions ELSE 0 END), " +
+           "SUM(CASE WHEN sag.category = :byteSizedCategory THEN sag.totalSessions ELSE 0 END), " +
+           "SUM(CASE WHEN sag.category = :lateralTrainingCategory THEN sag.totalSessions ELSE 0 END), " +
+           "0L, SUM(sag.totalHoursAllocated), SUM(sag.totalSessions)) " +
+           "FROM User u LEFT JOIN SmeActivityGroup sag ON sag.smeUserId = u.id AND sag.monthYear = :monthYear ";
+    
+    /**
+     * Per-user effort summaries of all users with a role for a month; shared with the streamed effort export
+     */
+    String SUMMARIZE_EFFORT_BY_ROLE_AND_MONTH = EFFORT_SUMMARY_SELECT +
+           "WHERE u.role = :role " +
+           "GROUP BY u.id, u.name, u.email " +
+           "ORDER BY u.id";
+    
+    /**
+     * Per-reportee effort summaries of a supervisor for a month; shared with the streamed effort export
+     */
+    String SUMMARIZE_EFFORT_BY_SUPERVISOR_AND_MONTH = EFFORT_SUMMARY_SELECT +
+           "WHERE u.supervisor.id = :supervisorId AND u.role = :role " +
+           "GROUP BY u.id, u.name, u.email " +
+           "ORDER BY u.id";
+    
     /**
      * Find SME activity group by SME user ID, activity ID, and month-year
      */
     Optional<SmeActivityGroup> findBySmeUserIdAndActivityIdAndMonthYear(
             Long smeUserId, Long activityId, String monthYear);
     
+    /**
+     * Atomically add sessions and hours to an SME activity group, creating it from the
+     * activity's category when missing. Returns 0 when the activity does not exist.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sme_activity_groups " +
+           "(sme_user_id, activity_id, category, total_hours_allocated, total_sessions, month_year, created_at, updated_at) " +
+           "SELECT :smeUserId, a.id, a.category, :hours, :sessions, :monthYear, CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6) " +
+           "FROM activities a WHERE a.id = :activityId " +
+           "ON DUPLICATE KEY UPDATE " +
+           "total_sessions = total_sessions + :sessions, " +
+           "total_hours_allocated = total_hours_allocated + :hours, " +
+           "updated_at = CURRENT_TIMESTAMP(6)",
+           nativeQuery = true)
+    int upsertActivityTotals(@Param("smeUserId") Long smeUserId,
+                             @Param("activityId") Long activityId,
+                             @Param("monthYear") String monthYear,
+                             @Param("sessions") int sessions,
+                             @Param("hours") double hours);
+    
+    /**
+     * Atomically subtract sessions and hours from an existing SME activity group
+     */
+    @Modifying
+    @Query(value = "UPDATE sme_activity_groups SET " +
+           "total_sessions = GREATEST(total_sessions - :sessions, 0), " +
+           "total_hours_allocated = GREATEST(total_hours_allocated - :hours, 0), " +
+           "updated_at = CURRENT_TIMESTAMP(6) " +
+           "WHERE sme_user_id = :smeUserId AND activity_id = :activityId AND month_year = :monthYear",
+           nativeQuery = true)
+    int subtractActivityTotals(@Param("smeUserId") Long smeUserId,
+                               @Param("activityId") Long activityId,
+                               @Param("monthYear") String monthYear,
+                               @Param("sessions") int sessions,
+                               @Param("hours") double hours);
+    
+    /**
+     * Remove an SME activity group once it has no sessions left
+     */
+    @Modifying
+    @Query(value = "DELETE FROM sme_activity_groups " +
+           "WHERE sme_user_id = :smeUserId AND activity_id = :activityId AND month_year = :monthYear " +
+           "AND total_sessions <= 0",
+           nativeQuery = true)
+    int deleteEmptyActivityGroup(@Param("smeUserId") Long smeUserId,
+                                 @Param("activityId") Long activityId,
+                                 @Param("monthYear") String monthYear);
+    
     /**
      * Find all activity groups for a specific SME
      */
@@ -71,4 +147,48 @@ public interface SmeActivityGroupRepository extends JpaRepository<SmeActivityGro
      */
     @Query("SELECT DISTINCT sag.smeUserId FROM SmeActivityGroup sag WHERE sag.monthYear = :monthYear")
     List<Long> getActiveSmesByMonth(@Param("monthYear") String monthYear);
+    
+    /**
+     * Count and latest change of a month's activity groups, then of all users, used as
+     * the version of the month's effort reports across all SMEs
+     */
+    @Query("SELECT COUNT(sag), MAX(sag.updatedAt), " +
+           "(SELECT COUNT(u) FROM User u), (SELECT MAX(u.updatedAt) FROM User u) " +
+           "FROM SmeActivityGroup sag WHERE sag.monthYear = :monthYear")
+    List<Object[]> getEffortVersionByMonth(@Param("monthYear") String monthYear);
+    
+    /**
+     * Count and latest change of a month's activity groups, then of a supervisor's
+     * reportees (the latest change including the supervisor), used as the version of
+     * the month's effort report of that supervisor
+     */
+    @Query("SELECT COUNT(sag), MAX(sag.updatedAt), " +
+           "(SELECT COUNT(u) FROM User u WHERE u.supervisor.id = :supervisorId), " +
+           "(SELECT MAX(u.updatedAt) FROM User u WHERE u.supervisor.id = :supervisorId OR u.id = :supervisorId) " +
+           "FROM SmeActivityGroup sag WHERE sag.monthYear = :monthYear")
+    List<Object[]> getEffortVersionByMonthAndSupervisor(@Param("monthYear") String monthYear,
+                                                        @Param("supervisorId") Long supervisorId);
+    
+    /**
+     * Per-user effort summaries for a month, aggregated in a single query.
+     * Users without activity groups in the month are included with zero counts.
+     */
+    @Query(SUMMARIZE_EFFORT_BY_ROLE_AND_MONTH)
+    List<ReporteeEffortSummary> summarizeEffortByRoleAndMonth(@Param("role") UserRole role,
+                                                              @Param("monthYear") String monthYear,
+                                                              @Param("smeConnectCategory") ActivityCategory smeConnectCategory,
+                                                              @Param("byteSizedCategory") ActivityCategory byteSizedCategory,
+                                                              @Param("lateralTrainingCategory") ActivityCategory lateralTrainingCategory);
+    
+    /**
+     * Per-reportee effort summaries of a supervisor for a month, aggregated in a single query.
+     * Reportees without activity groups in the month are included with zero counts.
+     */
+    @Query(SUMMARIZE_EFFORT_BY_SUPERVISOR_AND_MONTH)
+    List<ReporteeEffortSummary> summarizeEffortBySupervisorAndMonth(@Param("supervisorId") Long supervisorId,
+                                                                    @Param("role") UserRole role,
+                                                                    @Param("monthYear") String monthYear,
+                                                                    @Param("smeConnectCategory") ActivityCategory smeConnectCategory,
+                                                                    @Param("byteSizedCategory") ActivityCategory byteSizedCategory,
+                                                                    @Param("lateralTrainingCategory") ActivityCategory lateralTrainingCategory);
 }
@@ -2,7 +2,10 @@ package com.edulearnorg.ltt.smeplanner.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.edulearnorg.ltt.smeplanner.entity.User;
@@ -15,6 +18,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find users by role
     java.util.List<User> findByRole(UserRole role);
     
+    // Find users having any of the given roles
+    java.util.List<User> findByRoleIn(java.util.Collection<UserRole> roles);
+    
     // Find all users with SME role
     default java.util.List<User> findAllSMEs() {
         return findByRole(UserRole.SME);
@@ -25,4 +31,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Find reportees of a supervisor
     java.util.List<User> findBySupervisorIdAndRole(Long supervisorId, UserRole role);
+    
+    // Ids of the users having any of the given roles, lowest first
+    @Query("SELECT u.id FROM User u WHERE u.role IN :roles ORDER BY u.id")
+    java.util.List<Long> findIdsByRoleIn(@Param("roles") java.util.Collection<UserRole> roles, Limit limit);
+    
+    // Ids of a supervisor's reportees having any of the given roles, lowest first
+    @Query("SELECT u.id FROM User u WHERE u.supervisor.id = :supervisorId AND u.role IN :roles ORDER BY u.id")
+    java.util.List<Long> findIdsBySupervisorIdAndRoleIn(@Param("supervisorId") Long supervisorId,
+                                                        @Param("roles") java.util.Collection<UserRole> roles,
+                                                        Limit limit);
+    
+    // Ids among the given ones that belong to existing users
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    java.util.List<Long> findExistingIds(@Param("ids") java.util.Collection<Long> ids);
 }
@@ -0,0 +1,214 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.edulearnorg.ltt.smeplanner.entity.Activity;
+import com.edulearnorg.ltt.smeplanner.enums.ActivityCategory;
+import com.edulearnorg.ltt.smeplanner.repository.ActivityRepository;
+
+/**
+ * In-memory, read-mostly copy of the activities table.
+ *
+ * Reads are served from an immutable snapshot of detached copies holding a map by id, an
+ * EnumMap by category and the precomputed fixed/variable duration lists, so they
+ * need no database access and allocate nothing. {@link ActivityService} calls
+ * {@link #reload()} after every committed change, which builds a new snapshot from the
+ * database and swaps it in atomically with a higher version number.
+ *
+ * Changes made on another instance are picked up when a snapshot older than the
+ * refresh interval is read, or at once when an id missing from the snapshot exists
+ * in the database. A refresh that finds the same rows keeps the version.
+ */
+@Component
+public class ActivityCatalog {
+
+    private final ActivityRepository activityRepository;
+
+    private final long refreshIntervalNanos;
+
+    private volatile Snapshot snapshot;
+
+    public ActivityCatalog(ActivityRepository activityRepository,
+                           @Value("${activity-catalog.refresh-interval:30s}") Duration refreshInterval) {
+        this.activityRepository = activityRepository;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    public List<Activity> getAll() {
+        return current().all;
+    }
+
+    public Activity getById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Activity activity = current().byId.get(id);
+        if (activity == null && activityRepository.existsById(id)) {
+            // Created on another instance since the snapshot was built
+            reload();
+            activity = current().byId.get(id);
+        }
+        return activity;
+    }
+
+    public boolean exists(Long id) {
+        return getById(id) != null;
+    }
+
+    public List<Activity> getByCategory(ActivityCategory category) {
+        return current().byCategory.getOrDefault(category, Collections.emptyList());
+    }
+
+    public List<Activity> getWithFixedDuration() {
+        return current().fixedDuration;
+    }
+
+    public List<Activity> getWithVariableDuration() {
+        return current().variableDuration;
+    }
+
+    /**
+     * Version of the current snapshot; increases with every reload
+     */
+    public long getVersion() {
+        return current().version;
+    }
+
+    /**
+     * Rebuild the snapshot from the database
+     */
+    public synchronized void reload() {
+        Snapshot previous = snapshot;
+        Snapshot loaded = Snapshot.of(activityRepository.findAll(), previous != null ? previous.version + 1 : 1);
+        snapshot = previous != null && previous.sameContent(loaded) ? previous.refreshed() : loaded;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || isStale(current)) {
+            synchronized (this) {
+                if (snapshot == null || isStale(snapshot)) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private boolean isStale(Snapshot snapshot) {
+        return System.nanoTime() - snapshot.loadedAt >= refreshIntervalNanos;
+    }
+
+    /**
+     * Immutable view of the catalog at one version
+     */
+    private static final class Snapshot {
+        private final long version;
+        private final long loadedAt;
+        private final List<Activity> all;
+        private final Map<Long, Activity> byId;
+        private final Map<ActivityCategory, List<Activity>> byCategory;
+        private final List<Activity> fixedDuration;
+        private final List<Activity> variableDuration;
+
+        private Snapshot(long version, long loadedAt, List<Activity> all, Map<Long, Activity> byId,
+                         Map<ActivityCategory, List<Activity>> byCategory,
+                         List<Activity> fixedDuration, List<Activity> variableDuration) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.all = all;
+            this.byId = byId;
+            this.byCategory = byCategory;
+            this.fixedDuration = fixedDuration;
+            this.variableDuration = variableDuration;
+        }
+
+        static Snapshot of(List<Activity> activities, long version) {
+            // Detached copies, so changes to managed entities never leak into a published snapshot
+            List<Activity> sorted = new ArrayList<>(activities.size());
+            for (Activity activity : activities) {
+                sorted.add(copyOf(activity));
+            }
+            sorted.sort(Comparator.comparing(Activity::getId));
+
+            // Keyed by id rather than indexed, so a sparse or large id does not size the table
+            Map<Long, Activity> byId = new HashMap<>();
+
+            Map<ActivityCategory, List<Activity>> grouped = new EnumMap<>(ActivityCategory.class);
+            List<Activity> fixed = new ArrayList<>();
+            List<Activity> variable = new ArrayList<>();
+            for (Activity activity : sorted) {
+                byId.put(activity.getId(), activity);
+                grouped.computeIfAbsent(activity.getCategory(), category -> new ArrayList<>()).add(activity);
+                if (Boolean.TRUE.equals(activity.getIsVariableDuration())) {
+                    variable.add(activity);
+                } else if (Boolean.FALSE.equals(activity.getIsVariableDuration())) {
+                    fixed.add(activity);
+                }
+            }
+
+            Map<ActivityCategory, List<Activity>> byCategory = new EnumMap<>(ActivityCategory.class);
+            grouped.forEach((category, list) -> byCategory.put(category, List.copyOf(list)));
+
+            return new Snapshot(
+                version,
+                System.nanoTime(),
+                List.copyOf(sorted),
+                Collections.unmodifiableMap(byId),
+                Collections.unmodifiableMap(byCategory),
+                List.copyOf(fixed),
+                List.copyOf(variable)
+            );
+        }
+
+        /**
+         * The same snapshot and version, marked as loaded now
+         */
+        Snapshot refreshed() {
+            return new Snapshot(version, System.nanoTime(), all, byId, byCategory, fixedDuration, variableDuration);
+        }
+
+        boolean sameContent(Snapshot other) {
+            if (all.size() != other.all.size()) {
+                return false;
+            }
+            for (int i = 0; i < all.size(); i++) {
+                Activity a = all.get(i);
+                Activity b = other.all.get(i);
+                if (!Objects.equals(a.getId(), b.getId())
+                        || !Objects.equals(a.getName(), b.getName())
+                        || !Objects.equals(a.getDescription(), b.getDescription())
+                        || a.getCategory() != b.getCategory()
+                        || !Objects.equals(a.getDurationInHours(), b.getDurationInHours())
+                        || !Objects.equals(a.getIsVariableDuration(), b.getIsVariableDuration())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Activity copyOf(Activity activity) {
+            Activity copy = new Activity(
+                activity.getName(),
+                activity.getDescription(),
+                activity.getCategory(),
+                activity.getDurationInHours(),
+                activity.getIsVariableDuration()
+            );
+            copy.setId(activity.getId());
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for SME activity group rollups.
+ *
+ * Session and hour deltas are accumulated per (smeUserId, activityId, monthYear)
+ * and written as one batch of upserts on a fixed interval and on shutdown, so a
+ * burst of schedule writes against the same group costs one row update instead
+ * of one per schedule. Deltas recorded inside a transaction are only buffered
+ * after it commits. Readers call one of the flush methods first so reports
+ * never miss buffered deltas. A flush writes only the groups it matches and
+ * waits only for other flushes still writing those groups, so readers of
+ * different SMEs or months do not block each other.
+ *
+ * The buffer lives in this instance's memory: other instances do not see its
+ * deltas until they are flushed, and a crash loses them. Enable write-behind
+ * only when a single instance serves the application.
+ */
+@Component
+public class ActivityGroupRollupBuffer {
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO sme_activity_groups " +
+        "(sme_user_id, activity_id, category, total_hours_allocated, total_sessions, month_year, created_at, updated_at) " +
+        "SELECT ?, a.id, a.category, GREATEST(?, 0), GREATEST(?, 0), ?, CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6) " +
+        "FROM activities a WHERE a.id = ? " +
+        "ON DUPLICATE KEY UPDATE " +
+        "total_sessions = GREATEST(total_sessions + ?, 0), " +
+        "total_hours_allocated = GREATEST(total_hours_allocated + ?, 0), " +
+        "updated_at = CURRENT_TIMESTAMP(6)";
+
+    private static final String DELETE_EMPTY_SQL =
+        "DELETE FROM sme_activity_groups " +
+        "WHERE sme_user_id = ? AND activity_id = ? AND month_year = ? AND total_sessions <= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<GroupKey, Delta> pending = new ConcurrentHashMap<>();
+
+    // Groups whose drained deltas are being written, completed once committed or put back
+    private final ConcurrentHashMap<GroupKey, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public ActivityGroupRollupBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Buffer a change to a group's totals; negative values reverse earlier contributions
+     */
+    public void add(Long smeUserId, Long activityId, String monthYear, int sessions, double hours) {
+        GroupKey key = new GroupKey(smeUserId, activityId, monthYear);
+        AfterCommit.run(() -> merge(key, sessions, hours));
+    }
+
+    /**
+     * Write all buffered deltas
+     */
+    @Scheduled(fixedDelayString = "${rollup.flush-interval-ms:1000}")
+    public void flush() {
+        flushMatching(key -> true);
+    }
+
+    /**
+     * Write buffered deltas of one SME
+     */
+    public void flushSme(Long smeUserId) {
+        flushMatching(key -> key.smeUserId.equals(smeUserId));
+    }
+
+    /**
+     * Write buffered deltas of one month
+     */
+    public void flushMonth(String monthYear) {
+        flushMatching(key -> key.monthYear.equals(monthYear));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushMatching(Predicate<GroupKey> filter) {
+        while (!pending.isEmpty() || !inFlight.isEmpty()) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            List<CompletableFuture<Void>> others = new ArrayList<>();
+            List<GroupKey> keys = new ArrayList<>();
+            List<Delta> deltas = new ArrayList<>();
+            try {
+                drain(filter, done, keys, deltas, others);
+                if (!keys.isEmpty()) {
+                    writeOrRestore(keys, deltas);
+                }
+            } finally {
+                keys.forEach(key -> inFlight.remove(key, done));
+                done.complete(null);
+            }
+            if (others.isEmpty()) {
+                return;
+            }
+            // Another flush was writing some of these groups; wait for it, then pick up
+            // deltas added to them in the meantime
+            others.forEach(CompletableFuture::join);
+        }
+    }
+
+    private void drain(Predicate<GroupKey> filter, CompletableFuture<Void> done, List<GroupKey> keys,
+                       List<Delta> deltas, List<CompletableFuture<Void>> others) {
+        Set<GroupKey> candidates = new HashSet<>();
+        pending.keySet().stream().filter(filter).forEach(candidates::add);
+        inFlight.keySet().stream().filter(filter).forEach(candidates::add);
+        for (GroupKey key : candidates) {
+            // Claim the group before taking its delta, so a concurrent reader sees it in flight
+            CompletableFuture<Void> owner = inFlight.putIfAbsent(key, done);
+            if (owner != null) {
+                others.add(owner);
+                continue;
+            }
+            Delta delta = pending.remove(key);
+            if (delta != null && !delta.isEmpty()) {
+                keys.add(key);
+                deltas.add(delta);
+            } else {
+                inFlight.remove(key, done);
+            }
+        }
+    }
+
+    private void writeOrRestore(List<GroupKey> keys, List<Delta> deltas) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(keys, deltas));
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            for (int i = 0; i < keys.size(); i++) {
+                merge(keys.get(i), deltas.get(i).sessions, deltas.get(i).hours);
+            }
+            throw e;
+        }
+    }
+
+    private void write(List<GroupKey> keys, List<Delta> deltas) {
+        List<Object[]> upserts = new ArrayList<>(keys.size());
+        List<Object[]> deletes = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            GroupKey key = keys.get(i);
+            Delta delta = deltas.get(i);
+            upserts.add(new Object[] {
+                key.smeUserId, delta.hours, delta.sessions, key.monthYear, key.activityId,
+                delta.sessions, delta.hours
+            });
+            if (delta.sessions < 0) {
+                deletes.add(new Object[] { key.smeUserId, key.activityId, key.monthYear });
+            }
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, deletes);
+        }
+    }
+
+    private void merge(GroupKey key, int sessions, double hours) {
+        pending.merge(key, new Delta(sessions, hours), Delta::plus);
+    }
+
+    /**
+     * Unique key of an SME activity group
+     */
+    private static final class GroupKey {
+        private final Long smeUserId;
+        private final Long activityId;
+        private final String monthYear;
+
+        private GroupKey(Long smeUserId, Long activityId, String monthYear) {
+            this.smeUserId = smeUserId;
+            this.activityId = activityId;
+            this.monthYear = monthYear;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) o;
+            return smeUserId.equals(other.smeUserId)
+                && activityId.equals(other.activityId)
+                && monthYear.equals(other.monthYear);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(smeUserId, activityId, monthYear);
+        }
+    }
+
+    /**
+     * Immutable accumulated change to a group's totals
+     */
+    private static final class Delta {
+        private final int sessions;
+        private final double hours;
+
+        private Delta(int sessions, double hours) {
+            this.sessions = sessions;
+            this.hours = hours;
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(sessions + other.sessions, hours + other.hours);
+        }
+
+        boolean isEmpty() {
+            return sessions == 0 && hours == 0.0;
+        }
+    }
+}
@@ -4,32 +4,46 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.edulearnorg.ltt.smeplanner.entity.Activity;
 import com.edulearnorg.ltt.smeplanner.repository.ActivityRepository;
+import com.edulearnorg.ltt.smeplanner.repository.ScheduleRepository;
 
 @Service
 public class ActivityService {
     
     private final ActivityRepository activityRepository;
+    private final ActivityCatalog activityCatalog;
+    private final ScheduleRepository scheduleRepository;
+    private final ScheduleConflictIndex scheduleConflictIndex;
+    private final OccupancyIndex occupancyIndex;
     
-    public ActivityService(ActivityRepository activityRepository) {
+    public ActivityService(ActivityRepository activityRepository, ActivityCatalog activityCatalog,
+                           ScheduleRepository scheduleRepository, ScheduleConflictIndex scheduleConflictIndex,
+                           OccupancyIndex occupancyIndex) {
         this.activityRepository = activityRepository;
+        this.activityCatalog = activityCatalog;
+        this.scheduleRepository = scheduleRepository;
+        this.scheduleConflictIndex = scheduleConflictIndex;
+        this.occupancyIndex = occupancyIndex;
     }
     
     public List<Activity> getAllActivities() {
-        return activityRepository.findAll();
+        return activityCatalog.getAll();
     }
     
     public Activity getActivityById(Long id) {
-        return activityRepository.findById(id).orElse(null);
+        return activityCatalog.getById(id);
     }
     
     /**
      * Create a new activity
      */
     public Activity createActivity(Activity activity) {
-        return activityRepository.save(activity);
+        Activity savedActivity = activityRepository.save(activity);
+        AfterCommit.run(activityCatalog::reload);
+        return savedActivity;
     }
     
     /**
@@ -50,18 +64,26 @@ public class ActivityService {
             if (updatedActivity.getIsVariableDuration() != null) {
                 activity.setIsVariableDuration(updatedActivity.getIsVariableDuration());
             }
-            return activityRepository.save(activity);
+            Activity savedActivity = activityRepository.save(activity);
+            AfterCommit.run(activityCatalog::reload);
+            return savedActivity;
         } else {
             throw new IllegalArgumentException("Activity not found with id: " + id);
         }
     }
     
     /**
-     * Delete an activity
+     * Delete an activity. Its schedules are removed by the database cascade, so the
+     * users who had them are evicted from the in-memory schedule and occupancy indexes.
      */
+    @Transactional
     public void deleteActivity(Long id) {
-        if (activityRepository.existsById(id)) {
+        if (activityCatalog.exists(id)) {
+            List<Long> affectedUserIds = scheduleRepository.findUserIdsByActivityId(id);
             activityRepository.deleteById(id);
+            scheduleConflictIndex.evict(affectedUserIds);
+            occupancyIndex.evict(affectedUserIds);
+            AfterCommit.run(activityCatalog::reload);
         } else {
             throw new IllegalArgumentException("Activity not found with id: " + id);
         }
@@ -71,20 +93,22 @@ public class ActivityService {
      * Create activities in bulk
      */
     public List<Activity> createActivitiesInBulk(List<Activity> activities) {
-        return activityRepository.saveAll(activities);
+        List<Activity> savedActivities = activityRepository.saveAll(activities);
+        AfterCommit.run(activityCatalog::reload);
+        return savedActivities;
     }
     
     /**
      * Export all activities
      */
     public List<Activity> exportAllActivities() {
-        return activityRepository.findAll();
+        return activityCatalog.getAll();
     }
     
     /**
      * Check if activity exists by ID
      */
     public boolean existsById(Long id) {
-        return activityRepository.existsById(id);
+        return activityCatalog.exists(id);
     }
 }
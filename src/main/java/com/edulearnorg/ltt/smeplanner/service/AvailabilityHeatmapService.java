@@ -0,0 +1,132 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.edulearnorg.ltt.smeplanner.dto.AvailabilityHeatmapRequest;
+import com.edulearnorg.ltt.smeplanner.dto.AvailabilityHeatmapResponse;
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+import com.edulearnorg.ltt.smeplanner.repository.UserRepository;
+
+/**
+ * Counts how many users of a team are free in each slot of a date range.
+ *
+ * The team is a supervisor's reportees or all users with the given roles, at most
+ * {@link SearchWindows#MAX_USERS} of them, as for a slot search. Slots
+ * are whole multiples of the {@link OccupancyIndex} quantum, so a user is free in
+ * a slot exactly when none of its quanta is occupied, and the counts come straight
+ * from the index's bitmaps, one day per parallel task.
+ */
+@Service
+public class AvailabilityHeatmapService {
+
+    private static final int DEFAULT_SLOT_MINUTES = 30;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final UserRepository userRepository;
+
+    private final UserDirectory userDirectory;
+
+    private final OccupancyIndex occupancyIndex;
+
+    private final PlannerMetrics plannerMetrics;
+
+    public AvailabilityHeatmapService(UserRepository userRepository, UserDirectory userDirectory,
+                                      OccupancyIndex occupancyIndex, PlannerMetrics plannerMetrics) {
+        this.userRepository = userRepository;
+        this.userDirectory = userDirectory;
+        this.occupancyIndex = occupancyIndex;
+        this.plannerMetrics = plannerMetrics;
+    }
+
+    public AvailabilityHeatmapResponse getHeatmap(AvailabilityHeatmapRequest request) {
+        int slotMinutes = request.getSlotMinutes() != null ? request.getSlotMinutes() : DEFAULT_SLOT_MINUTES;
+        int dayStartMinute = request.getDayStartTime() != null ? minuteOfDay(request.getDayStartTime()) : 0;
+        int dayEndMinute = request.getDayEndTime() != null ? minuteOfDay(request.getDayEndTime()) : MINUTES_PER_DAY;
+        validate(request, slotMinutes, dayStartMinute, dayEndMinute);
+
+        List<Long> userIds = getTeam(request);
+        int slotsPerDay = (dayEndMinute - dayStartMinute) / slotMinutes;
+        int[][] freeCounts = occupancyIndex.countFree(
+            userIds,
+            request.getStartDate(),
+            request.getEndDate(),
+            dayStartMinute / OccupancyIndex.QUANTUM_MINUTES,
+            slotMinutes / OccupancyIndex.QUANTUM_MINUTES,
+            slotsPerDay
+        );
+        plannerMetrics.heatmapComputed(userIds.size());
+
+        List<LocalDate> dates = new ArrayList<>(freeCounts.length);
+        for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        List<LocalTime> slotStartTimes = new ArrayList<>(slotsPerDay);
+        for (int slot = 0; slot < slotsPerDay; slot++) {
+            slotStartTimes.add(LocalTime.MIN.plusMinutes(dayStartMinute + (long) slot * slotMinutes));
+        }
+        return new AvailabilityHeatmapResponse(userIds.size(), slotMinutes, dates, slotStartTimes, freeCounts);
+    }
+
+    private void validate(AvailabilityHeatmapRequest request, int slotMinutes, int dayStartMinute, int dayEndMinute) {
+        if (request.getSupervisorId() == null && (request.getRoles() == null || request.getRoles().isEmpty())) {
+            throw new IllegalArgumentException("Supervisor ID or roles are required");
+        }
+        SearchWindows.validateRange(request.getStartDate(), request.getEndDate());
+        if (slotMinutes % OccupancyIndex.QUANTUM_MINUTES != 0) {
+            throw new IllegalArgumentException(
+                "Slot length must be a multiple of " + OccupancyIndex.QUANTUM_MINUTES + " minutes");
+        }
+        SearchWindows.validateDayWindow(request.getDayStartTime(), request.getDayEndTime());
+        if (request.getDayStartTime() != null
+                && (!isOnQuantum(request.getDayStartTime()) || !isOnQuantum(request.getDayEndTime()))) {
+            throw new IllegalArgumentException(
+                "Day start and end times must be on a " + OccupancyIndex.QUANTUM_MINUTES + "-minute boundary");
+        }
+        if ((dayEndMinute - dayStartMinute) % slotMinutes != 0) {
+            throw new IllegalArgumentException("The daily window must be a whole number of slots");
+        }
+    }
+
+    /**
+     * IDs of the team members: the supervisor's reportees with the requested roles
+     * (SME by default), or every user with one of the roles
+     */
+    private List<Long> getTeam(AvailabilityHeatmapRequest request) {
+        // One more than allowed, to tell a full team from a too large one
+        Limit limit = Limit.of(SearchWindows.MAX_USERS + 1);
+        List<Long> userIds;
+        if (request.getSupervisorId() != null) {
+            if (userDirectory.findById(request.getSupervisorId()).isEmpty()) {
+                throw new IllegalArgumentException("User not found with id: " + request.getSupervisorId());
+            }
+            Set<UserRole> roles = request.getRoles() != null && !request.getRoles().isEmpty()
+                ? Set.copyOf(request.getRoles())
+                : Set.of(UserRole.SME);
+            userIds = userRepository.findIdsBySupervisorIdAndRoleIn(request.getSupervisorId(), roles, limit);
+        } else {
+            userIds = userRepository.findIdsByRoleIn(request.getRoles(), limit);
+        }
+
+        if (userIds.size() > SearchWindows.MAX_USERS) {
+            throw new IllegalArgumentException("The team is limited to " + SearchWindows.MAX_USERS
+                + " users; choose a supervisor or fewer roles");
+        }
+        return userIds;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static boolean isOnQuantum(LocalTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0 && time.getMinute() % OccupancyIndex.QUANTUM_MINUTES == 0;
+    }
+}
@@ -0,0 +1,258 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.edulearnorg.ltt.smeplanner.config.BulkImportProperties;
+import com.edulearnorg.ltt.smeplanner.dto.BulkScheduleCreateResponse.BulkScheduleError;
+import com.edulearnorg.ltt.smeplanner.dto.CreateScheduleRequest;
+import com.edulearnorg.ltt.smeplanner.entity.BulkImportJob;
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+import com.edulearnorg.ltt.smeplanner.enums.BulkImportJobStatus;
+import com.edulearnorg.ltt.smeplanner.repository.BulkImportJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs bulk schedule imports in the background.
+ *
+ * A submitted job is stored in {@code bulk_import_jobs} and processed on a bounded
+ * executor in chunks of {@code bulk-import.chunk-size} schedules through
+ * {@link BulkScheduleService}. Each chunk commits together with the job's progress,
+ * so a job interrupted by a restart resumes after its last committed chunk. Jobs
+ * the executor cannot accept stay pending and are picked up by a periodic sweep.
+ *
+ * Every committed chunk also refreshes the job's {@code updated_at}, which serves
+ * as the heartbeat of the worker running it. With several instances, a running job
+ * is only taken over once it has not moved for {@code bulk-import.stale-after-minutes},
+ * i.e. when its worker has stopped; if two workers still meet on a job, the
+ * optimistic lock lets only one of them commit each chunk.
+ */
+@Service
+public class BulkImportJobService {
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 500;
+
+    private static final TypeReference<List<CreateScheduleRequest>> SCHEDULES_TYPE = new TypeReference<>() {};
+
+    private static final TypeReference<List<BulkScheduleError>> ERRORS_TYPE = new TypeReference<>() {};
+
+    private final BulkImportJobRepository jobRepository;
+
+    private final BulkScheduleService bulkScheduleService;
+
+    private final BulkImportProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    // Jobs queued or running on this instance
+    private final Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+
+    public BulkImportJobService(BulkImportJobRepository jobRepository, BulkScheduleService bulkScheduleService,
+                                BulkImportProperties properties, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.bulkScheduleService = bulkScheduleService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(properties.getThreads());
+        this.executor.setMaxPoolSize(properties.getThreads());
+        this.executor.setQueueCapacity(properties.getQueueCapacity());
+        this.executor.setThreadNamePrefix("bulk-import-");
+        this.executor.initialize();
+    }
+
+    /**
+     * Store a new job and queue it. Requests already rejected during validation
+     * are passed in as errors and skipped by the import.
+     */
+    public BulkImportJob submit(Long userId, List<CreateScheduleRequest> schedules, List<BulkScheduleError> errors) {
+        BulkImportJob job = jobRepository.save(new BulkImportJob(
+            userId, schedules.size(), toJson(schedules), toJson(errors), errors.size()
+        ));
+        dispatch(job.getId());
+        return job;
+    }
+
+    public Optional<BulkImportJob> getJob(Long jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    public List<BulkScheduleError> getErrors(BulkImportJob job) {
+        return fromJson(job.getErrors(), ERRORS_TYPE);
+    }
+
+    /**
+     * Resume pending jobs and running jobs whose worker has stopped, such as those
+     * interrupted by a previous run of this application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        dispatchPendingJobs();
+    }
+
+    /**
+     * Queue pending jobs the executor had no room for when they were submitted, and
+     * take over running jobs that have made no progress for the stale period
+     */
+    @Scheduled(fixedDelayString = "${bulk-import.dispatch-interval-ms:30000}")
+    public void dispatchPendingJobs() {
+        jobRepository.findByStatusInOrderByIdAsc(List.of(BulkImportJobStatus.PENDING))
+            .forEach(job -> dispatch(job.getId()));
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(properties.getStaleAfterMinutes());
+        jobRepository.findByStatusAndUpdatedAtBeforeOrderByIdAsc(BulkImportJobStatus.RUNNING, staleBefore)
+            .forEach(job -> dispatch(job.getId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs keep their committed progress and resume on the next start
+        executor.shutdown();
+    }
+
+    private void dispatch(Long jobId) {
+        if (!dispatched.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    dispatched.remove(jobId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Queue is full; the job stays pending until the next sweep
+            dispatched.remove(jobId);
+        }
+    }
+
+    private void run(Long jobId) {
+        Optional<BulkImportJob> found = jobRepository.findById(jobId);
+        if (found.isEmpty() || found.get().isFinished()) {
+            return;
+        }
+        BulkImportJob job = found.get();
+
+        try {
+            List<CreateScheduleRequest> schedules = fromJson(job.getRequestPayload(), SCHEDULES_TYPE);
+            List<BulkScheduleError> errors = new ArrayList<>(getErrors(job));
+            Set<Integer> rejected = errors.stream().map(BulkScheduleError::getIndex).collect(Collectors.toSet());
+
+            updateJob(jobId, current -> current.setStatus(BulkImportJobStatus.RUNNING));
+
+            int processed = job.getProcessed();
+            while (processed < schedules.size()) {
+                int from = processed;
+                int to = Math.min(from + properties.getChunkSize(), schedules.size());
+                List<BulkScheduleError> chunkErrors = transactionTemplate.execute(
+                    status -> processChunk(jobId, schedules, from, to, rejected, errors)
+                );
+                if (chunkErrors == null) {
+                    // Another worker has already moved past this chunk
+                    return;
+                }
+                errors.addAll(chunkErrors);
+                processed = to;
+            }
+
+            updateJob(jobId, current -> current.setStatus(BulkImportJobStatus.COMPLETED));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Another worker committed progress for this job first and carries on with it
+        } catch (RuntimeException e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            updateJob(jobId, current -> {
+                current.setStatus(BulkImportJobStatus.FAILED);
+                current.setErrorMessage(message.length() > MAX_ERROR_MESSAGE_LENGTH
+                    ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message);
+            });
+        }
+    }
+
+    /**
+     * Import schedules [from, to) and record the progress in the same transaction.
+     * Returns the chunk's errors, or null if the job's progress is no longer at {@code from}.
+     */
+    private List<BulkScheduleError> processChunk(Long jobId, List<CreateScheduleRequest> schedules, int from, int to,
+                                                 Set<Integer> rejected, List<BulkScheduleError> previousErrors) {
+        BulkImportJob job = jobRepository.findById(jobId)
+            .orElseThrow(() -> new IllegalArgumentException("Bulk import job not found with id: " + jobId));
+        if (job.getProcessed() != from) {
+            return null;
+        }
+
+        Map<Integer, Schedule> candidates = new LinkedHashMap<>();
+        for (int index = from; index < to; index++) {
+            if (!rejected.contains(index)) {
+                candidates.put(index, ScheduleRequests.toSchedule(schedules.get(index)));
+            }
+        }
+
+        BulkScheduleService.BulkResult result = bulkScheduleService.createSchedules(candidates);
+        List<BulkScheduleError> chunkErrors = new ArrayList<>(result.getErrors().size());
+        result.getErrors().forEach((index, message) ->
+            chunkErrors.add(new BulkScheduleError(index, message, schedules.get(index))));
+
+        List<BulkScheduleError> allErrors = new ArrayList<>(previousErrors.size() + chunkErrors.size());
+        allErrors.addAll(previousErrors);
+        allErrors.addAll(chunkErrors);
+
+        job.setProcessed(to);
+        job.setCreatedCount(job.getCreatedCount() + result.getCreated().size());
+        job.setFailedCount(allErrors.size());
+        job.setErrors(toJson(allErrors));
+        jobRepository.save(job);
+        return chunkErrors;
+    }
+
+    private void updateJob(Long jobId, Consumer<BulkImportJob> change) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+            change.accept(job);
+            jobRepository.save(job);
+        }));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize bulk import job data: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read bulk import job data: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+import com.edulearnorg.ltt.smeplanner.repository.ScheduleRepository;
+import com.edulearnorg.ltt.smeplanner.service.UserDirectory.DirectoryUser;
+
+/**
+ * Creates many schedules in one transaction.
+ *
+ * Existing schedules of all affected users inside the batch's time window are
+ * loaded with one query per chunk of user IDs, and every candidate is checked
+ * in memory against them and against the candidates accepted before it. The
+ * accepted rows are inserted with batched JDBC statements, and the SME activity
+ * groupings receive one upsert per (user, activity, month) instead of one per
+ * schedule.
+ */
+@Service
+public class BulkScheduleService {
+
+    /**
+     * Maximum number of user IDs bound into a single IN clause when loading existing schedules
+     */
+    private static final int USER_QUERY_CHUNK_SIZE = 1000;
+
+    /**
+     * Number of rows sent per JDBC batch
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO schedules " +
+        "(user_id, from_date, to_date, from_time, to_time, start_at, end_at, activity_id, activity_name, " +
+        "description, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CONFLICT_ERROR = "Schedule conflicts with existing schedule(s)";
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActivityCatalog activityCatalog;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private ScheduleConflictIndex scheduleConflictIndex;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private SmeActivityGroupService smeActivityGroupService;
+
+    @Autowired
+    private PlannerMetrics plannerMetrics;
+
+    /**
+     * Create the given schedules, keyed by their position in the request.
+     * Candidates are accepted in key order; a candidate that conflicts with an
+     * existing schedule or with one accepted earlier in the batch is rejected.
+     */
+    @Transactional
+    public BulkResult createSchedules(Map<Integer, Schedule> candidates) {
+        BulkResult result = new BulkResult();
+        if (candidates.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, Optional<DirectoryUser>> users = new HashMap<>();
+        Map<Long, UserTimeline> timelines = loadTimelines(candidates.values());
+
+        Map<Integer, Schedule> acceptedByIndex = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Schedule> entry : new TreeMap<>(candidates).entrySet()) {
+            Schedule schedule = entry.getValue();
+            Optional<DirectoryUser> user = users.computeIfAbsent(schedule.getUserId(), userDirectory::findById);
+
+            if (user.isEmpty()) {
+                result.errors.put(entry.getKey(), "User not found with id: " + schedule.getUserId());
+            } else if (!activityCatalog.exists(schedule.getActivityId())) {
+                result.errors.put(entry.getKey(), "Activity not found with id: " + schedule.getActivityId());
+            } else if (!timelines.computeIfAbsent(schedule.getUserId(), id -> new UserTimeline())
+                    .tryAdd(schedule.getStartAt(), schedule.getEndAt())) {
+                result.errors.put(entry.getKey(), CONFLICT_ERROR);
+                plannerMetrics.conflictDetected(PlannerMetrics.BULK);
+            } else {
+                acceptedByIndex.put(entry.getKey(), schedule);
+            }
+        }
+
+        // Counted once the batch commits, so a batch whose insert rolls back is not reported
+        int acceptedCount = acceptedByIndex.size();
+        int rejectedCount = result.errors.size();
+        AfterCommit.run(() -> plannerMetrics.bulkSchedulesProcessed(acceptedCount, rejectedCount));
+        if (acceptedByIndex.isEmpty()) {
+            return result;
+        }
+
+        List<Schedule> accepted = new ArrayList<>(acceptedByIndex.values());
+
+        insert(accepted);
+        scheduleConflictIndex.putAll(accepted);
+        occupancyIndex.putAll(accepted);
+
+        List<Schedule> grouped = accepted.stream()
+            .filter(schedule -> users.get(schedule.getUserId()).map(user -> canActAsSme(user.getRole())).orElse(false))
+            .collect(Collectors.toList());
+        if (!grouped.isEmpty()) {
+            smeActivityGroupService.processSchedulesForGrouping(grouped);
+        }
+
+        result.created.putAll(acceptedByIndex);
+        return result;
+    }
+
+    /**
+     * Load the existing schedule intervals of every affected user that fall inside the batch's window
+     */
+    private Map<Long, UserTimeline> loadTimelines(Iterable<Schedule> schedules) {
+        Set<Long> distinctUserIds = new LinkedHashSet<>();
+        LocalDateTime windowStart = null;
+        LocalDateTime windowEnd = null;
+        for (Schedule schedule : schedules) {
+            distinctUserIds.add(schedule.getUserId());
+            if (windowStart == null || schedule.getStartAt().isBefore(windowStart)) {
+                windowStart = schedule.getStartAt();
+            }
+            if (windowEnd == null || schedule.getEndAt().isAfter(windowEnd)) {
+                windowEnd = schedule.getEndAt();
+            }
+        }
+
+        List<Long> userIds = new ArrayList<>(distinctUserIds);
+        Map<Long, List<LocalDateTime[]>> intervalsByUser = new HashMap<>();
+        for (int start = 0; start < userIds.size(); start += USER_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(start, Math.min(start + USER_QUERY_CHUNK_SIZE, userIds.size()));
+            for (Object[] row : scheduleRepository.findOverlappingIntervalsForUsers(chunk, windowStart, windowEnd)) {
+                intervalsByUser.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new LocalDateTime[] { (LocalDateTime) row[1], (LocalDateTime) row[2] });
+            }
+        }
+
+        Map<Long, UserTimeline> timelines = new HashMap<>();
+        intervalsByUser.forEach((userId, intervals) -> timelines.put(userId, UserTimeline.of(intervals)));
+        return timelines;
+    }
+
+    /**
+     * Insert the schedules with batched statements and assign their generated IDs
+     */
+    private void insert(List<Schedule> schedules) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Schedule schedule : schedules) {
+            schedule.setCreatedAt(now);
+            schedule.setUpdatedAt(now);
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < schedules.size(); start += INSERT_BATCH_SIZE) {
+                    List<Schedule> batch = schedules.subList(start, Math.min(start + INSERT_BATCH_SIZE, schedules.size()));
+                    for (Schedule schedule : batch) {
+                        statement.setLong(1, schedule.getUserId());
+                        statement.setObject(2, schedule.getFromDate());
+                        statement.setObject(3, schedule.getToDate());
+                        statement.setObject(4, schedule.getFromTime());
+                        statement.setObject(5, schedule.getToTime());
+                        statement.setObject(6, schedule.getStartAt());
+                        statement.setObject(7, schedule.getEndAt());
+                        statement.setLong(8, schedule.getActivityId());
+                        statement.setString(9, schedule.getActivityName());
+                        statement.setString(10, schedule.getDescription());
+                        statement.setObject(11, schedule.getCreatedAt());
+                        statement.setObject(12, schedule.getUpdatedAt());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (Schedule schedule : batch) {
+                            if (!keys.next()) {
+                                throw new IllegalStateException("Missing generated key for bulk schedule insert");
+                            }
+                            schedule.setId(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private boolean canActAsSme(UserRole role) {
+        return role == UserRole.SME || role == UserRole.SUPERVISOR || role == UserRole.LEAD;
+    }
+
+    /**
+     * Outcome of a bulk creation: the created schedules in request order and
+     * the rejection reason of every other candidate by its position
+     */
+    public static class BulkResult {
+        private final Map<Integer, Schedule> created = new LinkedHashMap<>();
+        private final Map<Integer, String> errors = new LinkedHashMap<>();
+
+        public List<Schedule> getCreated() { return new ArrayList<>(created.values()); }
+        public Map<Integer, Schedule> getCreatedByIndex() { return created; }
+        public Map<Integer, String> getErrors() { return errors; }
+    }
+
+    /**
+     * A user's occupied time as disjoint half-open ranges keyed by start.
+     * Because the ranges never overlap, the one starting last before a
+     * candidate's end is the only one that can overlap it.
+     */
+    private static class UserTimeline {
+        private final TreeMap<LocalDateTime, LocalDateTime> ranges = new TreeMap<>();
+
+        static UserTimeline of(List<LocalDateTime[]> intervals) {
+            // Existing schedules may overlap each other; merge them into disjoint ranges
+            intervals.sort((a, b) -> a[0].compareTo(b[0]));
+            UserTimeline timeline = new UserTimeline();
+            LocalDateTime start = null;
+            LocalDateTime end = null;
+            for (LocalDateTime[] interval : intervals) {
+                if (start != null && interval[0].isBefore(end)) {
+                    if (interval[1].isAfter(end)) {
+                        end = interval[1];
+                    }
+                } else {
+                    if (start != null) {
+                        timeline.ranges.put(start, end);
+                    }
+                    start = interval[0];
+                    end = interval[1];
+                }
+            }
+            if (start != null) {
+                timeline.ranges.put(start, end);
+            }
+            return timeline;
+        }
+
+        /**
+         * Occupy [start, end) unless it overlaps an occupied range
+         */
+        boolean tryAdd(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> previous = ranges.lowerEntry(end);
+            if (previous != null && previous.getValue().isAfter(start)) {
+                return false;
+            }
+            // Keep the longer range when one already starts at the same time
+            ranges.merge(start, end, (existing, added) -> existing.isAfter(added) ? existing : added);
+            return true;
+        }
+    }
+}
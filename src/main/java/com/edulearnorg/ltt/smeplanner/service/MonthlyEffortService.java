@@ -3,11 +3,10 @@ package com.edulearnorg.ltt.smeplanner.service;
 import com.edulearnorg.ltt.smeplanner.dto.ConsolidatedMonthlyEffortResponse;
 import com.edulearnorg.ltt.smeplanner.dto.MonthlyEffortDetailsResponse;
 import com.edulearnorg.ltt.smeplanner.entity.SmeActivityGroup;
-import com.edulearnorg.ltt.smeplanner.entity.User;
 import com.edulearnorg.ltt.smeplanner.enums.ActivityCategory;
 import com.edulearnorg.ltt.smeplanner.enums.UserRole;
 import com.edulearnorg.ltt.smeplanner.repository.SmeActivityGroupRepository;
-import com.edulearnorg.ltt.smeplanner.repository.UserRepository;
+import com.edulearnorg.ltt.smeplanner.service.UserDirectory.DirectoryUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -20,12 +19,23 @@ import java.util.List;
 @Service
 public class MonthlyEffortService {
     
+    // Categories counted in the consolidated report columns
+    static final ActivityCategory SME_CONNECT_CATEGORY = ActivityCategory.MANAGEMENT;
+    static final ActivityCategory BYTE_SIZED_CATEGORY = ActivityCategory.BYTE_SIZED;
+    static final ActivityCategory LATERAL_TRAINING_CATEGORY = ActivityCategory.CALENDAR_TRAINING;
+    
     @Autowired
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
     
     @Autowired
     private SmeActivityGroupRepository smeActivityGroupRepository;
     
+    @Autowired
+    private ActivityGroupRollupBuffer rollupBuffer;
+    
+    @Autowired
+    private PlannerMetrics plannerMetrics;
+    
     /**
      * Get monthly effort details for an SME by supervisor
      */
@@ -33,7 +43,7 @@ public class MonthlyEffortService {
         // Check if the supervisor is trying to view their own data
         if (supervisorId.equals(smeId)) {
             // Allow supervisors to view their own effort data
-            User supervisor = userRepository.findById(supervisorId)
+            DirectoryUser supervisor = userDirectory.findById(supervisorId)
                 .orElseThrow(() -> new RuntimeException("Supervisor not found"));
             
             if (!canActAsSme(supervisor)) {
@@ -44,12 +54,12 @@ public class MonthlyEffortService {
         }
         
         // Check if the SME is a reportee of the supervisor
-        if (!userRepository.existsByIdAndSupervisorId(smeId, supervisorId)) {
+        if (!userDirectory.isReportee(smeId, supervisorId)) {
             throw new RuntimeException("Cannot view the report");
         }
         
         // Verify the user can act as an SME (SME, SUPERVISOR, or LEAD can all be SMEs)
-        User sme = userRepository.findById(smeId)
+        DirectoryUser sme = userDirectory.findById(smeId)
             .orElseThrow(() -> new RuntimeException("SME not found"));
         
         if (!canActAsSme(sme)) {
@@ -64,7 +74,7 @@ public class MonthlyEffortService {
      */
     public MonthlyEffortDetailsResponse getMonthlyEffortDetailsForLead(Long smeId, String monthYear) {
         // Verify the user can act as an SME (SME, SUPERVISOR, or LEAD can all be SMEs)
-        User sme = userRepository.findById(smeId)
+        DirectoryUser sme = userDirectory.findById(smeId)
             .orElseThrow(() -> new RuntimeException("SME not found with ID: " + smeId));
         
         if (!canActAsSme(sme)) {
@@ -77,15 +87,16 @@ public class MonthlyEffortService {
     /**
      * Get monthly effort details for an SME
      */
-    public MonthlyEffortDetailsResponse getMonthlyEffortDetails(User sme, String monthYear) {
-        // Get activity groups for the SME and month
+    public MonthlyEffortDetailsResponse getMonthlyEffortDetails(DirectoryUser sme, String monthYear) {
+        // Get activity groups for the SME and month, including buffered rollup changes
+        rollupBuffer.flushSme(sme.getId());
         List<SmeActivityGroup> activityGroups = smeActivityGroupRepository
             .findBySmeUserIdAndMonthYear(sme.getId(), monthYear);
         
         // Calculate counts and totals based on activity categories
-        Long smeConnectCount = getTotalSessionsByCategory(activityGroups, ActivityCategory.MANAGEMENT);
-        Long byteSizedCount = getTotalSessionsByCategory(activityGroups, ActivityCategory.BYTE_SIZED);
-        Long lateralTrainingCount = getTotalSessionsByCategory(activityGroups, ActivityCategory.CALENDAR_TRAINING);
+        Long smeConnectCount = getTotalSessionsByCategory(activityGroups, SME_CONNECT_CATEGORY);
+        Long byteSizedCount = getTotalSessionsByCategory(activityGroups, BYTE_SIZED_CATEGORY);
+        Long lateralTrainingCount = getTotalSessionsByCategory(activityGroups, LATERAL_TRAINING_CATEGORY);
         Long questionContributionCount = getTotalSessionsByCategory(activityGroups, ActivityCategory.EVALUATION);
         
         Double totalHoursAllocated = activityGroups.stream()
@@ -115,94 +126,19 @@ public class MonthlyEffortService {
      */
     public ConsolidatedMonthlyEffortResponse getConsolidatedMonthlyEffortDetails(Long supervisorId, String monthYear) {
         // Get supervisor details
-        User supervisor = userRepository.findById(supervisorId)
+        DirectoryUser supervisor = userDirectory.findById(supervisorId)
             .orElseThrow(() -> new RuntimeException("Supervisor not found"));
         
         if (supervisor.getRole() != UserRole.SUPERVISOR) {
             throw new RuntimeException("User is not a supervisor");
         }
         
-        // Get all reportees of the supervisor
-        List<User> reportees = userRepository.findBySupervisorIdAndRole(supervisorId, UserRole.SME);
-        
-        if (reportees.isEmpty()) {
-            // Return empty response if no reportees found
-            return new ConsolidatedMonthlyEffortResponse(
-                supervisorId,
-                supervisor.getName(),
-                supervisor.getEmail(),
-                monthYear,
-                new ArrayList<>(),
-                new ConsolidatedMonthlyEffortResponse.EffortTotals(0L, 0L, 0L, 0L, 0L, 0.0, 0L)
-            );
-        }
-        
-        // Collect effort details for each reportee
-        List<ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary> reporteeSummaries = new ArrayList<>();
-        
-        // Totals for consolidation
-        long totalSmeConnectCount = 0;
-        long totalByteSizedCount = 0;
-        long totalLateralTrainingCount = 0;
-        long totalQuestionContributionCount = 0;
-        double totalHoursAllocated = 0.0;
-        long totalSessions = 0;
-        
-        for (User reportee : reportees) {
-            // Get activity groups for this reportee and month
-            List<SmeActivityGroup> reporteeActivityGroups = smeActivityGroupRepository
-                .findBySmeUserIdAndMonthYear(reportee.getId(), monthYear);
-            
-            // Calculate metrics for this reportee
-            Long smeConnectCount = getTotalSessionsByCategory(reporteeActivityGroups, ActivityCategory.CALENDAR_TRAINING);
-            Long byteSizedCount = getTotalSessionsByCategory(reporteeActivityGroups, ActivityCategory.BYTE_SIZED);
-            Long lateralTrainingCount = getTotalSessionsByCategory(reporteeActivityGroups, ActivityCategory.CALENDAR_TRAINING);
-            Long questionContributionCount = 0L; // Placeholder for future implementation
-            
-            Double reporteeHours = reporteeActivityGroups.stream()
-                .mapToDouble(SmeActivityGroup::getTotalHoursAllocated)
-                .sum();
-            
-            Long reporteeSessions = reporteeActivityGroups.stream()
-                .mapToLong(SmeActivityGroup::getTotalSessions)
-                .sum();
-            
-            // Create reportee summary
-            ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary summary = 
-                new ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary(
-                    reportee.getId(),
-                    reportee.getName(),
-                    reportee.getEmail(),
-                    smeConnectCount,
-                    byteSizedCount,
-                    lateralTrainingCount,
-                    questionContributionCount,
-                    reporteeHours,
-                    reporteeSessions
-                );
-            
-            reporteeSummaries.add(summary);
-            
-            // Add to totals
-            totalSmeConnectCount += smeConnectCount;
-            totalByteSizedCount += byteSizedCount;
-            totalLateralTrainingCount += lateralTrainingCount;
-            totalQuestionContributionCount += questionContributionCount;
-            totalHoursAllocated += reporteeHours;
-            totalSessions += reporteeSessions;
-        }
-        
-        // Create totals object
-        ConsolidatedMonthlyEffortResponse.EffortTotals totals = 
-            new ConsolidatedMonthlyEffortResponse.EffortTotals(
-                (long) reportees.size(),
-                totalSmeConnectCount,
-                totalByteSizedCount,
-                totalLateralTrainingCount,
-                totalQuestionContributionCount,
-                totalHoursAllocated,
-                totalSessions
-            );
+        // Aggregate effort for all reportees in one query, including buffered rollup changes
+        rollupBuffer.flushMonth(monthYear);
+        List<ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary> reporteeSummaries = smeActivityGroupRepository
+            .summarizeEffortBySupervisorAndMonth(supervisorId, UserRole.SME, monthYear,
+                SME_CONNECT_CATEGORY, BYTE_SIZED_CATEGORY, LATERAL_TRAINING_CATEGORY);
+        plannerMetrics.effortReported("supervisor", reporteeSummaries.size());
         
         return new ConsolidatedMonthlyEffortResponse(
             supervisorId,
@@ -210,7 +146,7 @@ public class MonthlyEffortService {
             supervisor.getEmail(),
             monthYear,
             reporteeSummaries,
-            totals
+            calculateTotals(reporteeSummaries)
         );
     }
     
@@ -218,10 +154,14 @@ public class MonthlyEffortService {
      * Get consolidated monthly effort details for all SMEs by lead (no access restrictions)
      */
     public ConsolidatedMonthlyEffortResponse getConsolidatedMonthlyEffortDetailsForLead(String monthYear) {
-        // Get all SMEs in the system
-        List<User> allSmes = userRepository.findByRole(UserRole.SME);
-        
-        if (allSmes.isEmpty()) {
+        // Aggregate effort for all SMEs in one query, including buffered rollup changes
+        rollupBuffer.flushMonth(monthYear);
+        List<ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary> smeSummaries = smeActivityGroupRepository
+            .summarizeEffortByRoleAndMonth(UserRole.SME, monthYear,
+                SME_CONNECT_CATEGORY, BYTE_SIZED_CATEGORY, LATERAL_TRAINING_CATEGORY);
+        plannerMetrics.effortReported("lead", smeSummaries.size());
+        
+        if (smeSummaries.isEmpty()) {
             // Return empty response if no SMEs found
             return new ConsolidatedMonthlyEffortResponse(
                 null,
@@ -229,14 +169,25 @@ public class MonthlyEffortService {
                 "lead@edulearnorg.com",
                 monthYear,
                 new ArrayList<>(),
-                new ConsolidatedMonthlyEffortResponse.EffortTotals(0L, 0L, 0L, 0L, 0L, 0.0, 0L)
+                calculateTotals(smeSummaries)
             );
         }
         
-        // Collect effort details for each SME
-        List<ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary> smeSummaries = new ArrayList<>();
-        
-        // Totals for consolidation
+        return new ConsolidatedMonthlyEffortResponse(
+            null, // Lead doesn't have a specific ID in this context
+            "Lead User",
+            "lead@edulearnorg.com",
+            monthYear,
+            smeSummaries,
+            calculateTotals(smeSummaries)
+        );
+    }
+    
+    /**
+     * Helper method to add up reportee summaries into consolidated totals
+     */
+    private ConsolidatedMonthlyEffortResponse.EffortTotals calculateTotals(
+            List<ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary> summaries) {
         long totalSmeConnectCount = 0;
         long totalByteSizedCount = 0;
         long totalLateralTrainingCount = 0;
@@ -244,69 +195,23 @@ public class MonthlyEffortService {
         double totalHoursAllocated = 0.0;
         long totalSessions = 0;
         
-        for (User sme : allSmes) {
-            // Get activity groups for this SME and month
-            List<SmeActivityGroup> smeActivityGroups = smeActivityGroupRepository
-                .findBySmeUserIdAndMonthYear(sme.getId(), monthYear);
-            
-            // Calculate metrics for this SME
-            Long smeConnectCount = getTotalSessionsByCategory(smeActivityGroups, ActivityCategory.CALENDAR_TRAINING);
-            Long byteSizedCount = getTotalSessionsByCategory(smeActivityGroups, ActivityCategory.BYTE_SIZED);
-            Long lateralTrainingCount = getTotalSessionsByCategory(smeActivityGroups, ActivityCategory.CALENDAR_TRAINING);
-            Long questionContributionCount = 0L; // Placeholder for future implementation
-            
-            Double smeHours = smeActivityGroups.stream()
-                .mapToDouble(SmeActivityGroup::getTotalHoursAllocated)
-                .sum();
-            
-            Long smeSessions = smeActivityGroups.stream()
-                .mapToLong(SmeActivityGroup::getTotalSessions)
-                .sum();
-            
-            // Create SME summary
-            ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary summary = 
-                new ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary(
-                    sme.getId(),
-                    sme.getName(),
-                    sme.getEmail(),
-                    smeConnectCount,
-                    byteSizedCount,
-                    lateralTrainingCount,
-                    questionContributionCount,
-                    smeHours,
-                    smeSessions
-                );
-            
-            smeSummaries.add(summary);
-            
-            // Add to totals
-            totalSmeConnectCount += smeConnectCount;
-            totalByteSizedCount += byteSizedCount;
-            totalLateralTrainingCount += lateralTrainingCount;
-            totalQuestionContributionCount += questionContributionCount;
-            totalHoursAllocated += smeHours;
-            totalSessions += smeSessions;
+        for (ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary summary : summaries) {
+            totalSmeConnectCount += summary.getSmeConnectCount();
+            totalByteSizedCount += summary.getByteSizedCount();
+            totalLateralTrainingCount += summary.getLateralTrainingCount();
+            totalQuestionContributionCount += summary.getQuestionContributionCount();
+            totalHoursAllocated += summary.getTotalHoursAllocated();
+            totalSessions += summary.getTotalSessions();
         }
         
-        // Create totals object
-        ConsolidatedMonthlyEffortResponse.EffortTotals totals = 
-            new ConsolidatedMonthlyEffortResponse.EffortTotals(
-                (long) allSmes.size(),
-                totalSmeConnectCount,
-                totalByteSizedCount,
-                totalLateralTrainingCount,
-                totalQuestionContributionCount,
-                totalHoursAllocated,
-                totalSessions
-            );
-        
-        return new ConsolidatedMonthlyEffortResponse(
-            null, // Lead doesn't have a specific ID in this context
-            "Lead User",
-            "lead@edulearnorg.com",
-            monthYear,
-            smeSummaries,
-            totals
+        return new ConsolidatedMonthlyEffortResponse.EffortTotals(
+            (long) summaries.size(),
+            totalSmeConnectCount,
+            totalByteSizedCount,
+            totalLateralTrainingCount,
+            totalQuestionContributionCount,
+            totalHoursAllocated,
+            totalSessions
         );
     }
     
@@ -324,7 +229,7 @@ public class MonthlyEffortService {
      * Helper method to check if a user can act as an SME
      * Since all supervisors and leads are also SMEs, this method checks for all three roles
      */
-    private boolean canActAsSme(User user) {
+    private boolean canActAsSme(DirectoryUser user) {
         UserRole role = user.getRole();
         return role == UserRole.SME || role == UserRole.SUPERVISOR || role == UserRole.LEAD;
     }
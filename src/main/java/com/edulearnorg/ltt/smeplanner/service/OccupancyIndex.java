@@ -0,0 +1,436 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.edulearnorg.ltt.smeplanner.config.OccupancyProperties;
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+import com.edulearnorg.ltt.smeplanner.repository.ScheduleRepository;
+
+/**
+ * In-memory per-user bitmaps of occupied time used to answer availability
+ * searches for many users without querying the database.
+ *
+ * Every day is split into {@link #QUANTA_PER_DAY} quanta of {@link #QUANTUM_MINUTES}
+ * minutes, and a user's bitmap has one bit per quantum from {@code occupancy.past-days}
+ * before to {@code occupancy.future-days} after the day it was loaded. A bit is set
+ * when any schedule touches its quantum, so a window whose quanta are all clear is
+ * free and a window containing a whole set quantum is busy. Only a window whose set
+ * bits all fall on its partially covered first or last quantum, or one outside the
+ * indexed days, is left for an exact check.
+ *
+ * Users are loaded lazily, many at a time through {@link #checkAll}, and kept in sync
+ * by {@link ScheduleService} and {@link BulkScheduleService} in the same places as
+ * {@link ScheduleConflictIndex}, with each change deferred through {@link AfterCommit}.
+ * Writes made through other instances are not seen, so a user's bitmap is reloaded once
+ * it is {@code occupancy.max-age-minutes} old; that is how stale a FREE answer can be.
+ */
+@Component
+public class OccupancyIndex {
+
+    public static final int QUANTUM_MINUTES = 15;
+
+    public static final int QUANTA_PER_DAY = 24 * 60 / QUANTUM_MINUTES;
+
+    private static final long QUANTUM_SECONDS = QUANTUM_MINUTES * 60L;
+
+    /**
+     * Maximum number of user IDs bound into a single IN clause when loading bitmaps
+     */
+    private static final int USER_QUERY_CHUNK_SIZE = 1000;
+
+    /**
+     * Answer of the bitmaps for one user and window
+     */
+    public enum Occupancy {
+        FREE,
+        BUSY,
+        // Cannot be decided at quantum resolution; check the schedules themselves
+        UNKNOWN
+    }
+
+    private final ScheduleRepository scheduleRepository;
+
+    private final OccupancyProperties properties;
+
+    private final ConcurrentHashMap<Long, UserOccupancy> occupancyByUser = new ConcurrentHashMap<>();
+
+    // Users written to while a batch load is running, one set per running load
+    private final Set<Set<Long>> activeLoads = ConcurrentHashMap.newKeySet();
+
+    public OccupancyIndex(ScheduleRepository scheduleRepository, OccupancyProperties properties) {
+        this.scheduleRepository = scheduleRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Classify the half-open range [startAt, endAt) for one user
+     */
+    public Occupancy check(Long userId, LocalDateTime startAt, LocalDateTime endAt) {
+        return getOccupancy(userId).check(toEpochSecond(startAt), toEpochSecond(endAt));
+    }
+
+    /**
+     * Classify the half-open range [startAt, endAt) for each of the given users,
+     * loading the bitmaps of users not yet indexed with one query per chunk of IDs
+     */
+    public Map<Long, Occupancy> checkAll(Collection<Long> userIds, LocalDateTime startAt, LocalDateTime endAt) {
+        preload(userIds);
+        long start = toEpochSecond(startAt);
+        long end = toEpochSecond(endAt);
+        Map<Long, Occupancy> result = new HashMap<>();
+        for (Long userId : userIds) {
+            result.put(userId, getOccupancy(userId).check(start, end));
+        }
+        return result;
+    }
+
+    /**
+     * Count the users free in each slot of each day from startDate to endDate.
+     * A day's slots are {@code quantaPerSlot} quanta long and start at quantum
+     * {@code dayFirstQuantum} of the day; a user is free in a slot when none of its
+     * quanta is occupied. Inside the indexed days the bitmaps of the index are used,
+     * otherwise transient bitmaps are built from one range query per chunk of users.
+     * Days are counted in parallel.
+     *
+     * @return free counts indexed by day, then slot
+     */
+    public int[][] countFree(List<Long> userIds, LocalDate startDate, LocalDate endDate,
+                             int dayFirstQuantum, int quantaPerSlot, int slotsPerDay) {
+        LocalDate today = LocalDate.now();
+        List<UserOccupancy> occupancies = new ArrayList<>(userIds.size());
+        if (!startDate.isBefore(today.minusDays(properties.getPastDays()))
+                && !endDate.isAfter(today.plusDays(properties.getFutureDays()))) {
+            preload(userIds);
+            for (Long userId : userIds) {
+                occupancies.add(getOccupancy(userId));
+            }
+        } else {
+            // Users without schedules in the range are free throughout and need no bitmap
+            occupancies.addAll(load(userIds, today, startDate, endDate.plusDays(1)).values());
+        }
+
+        int days = (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1;
+        int[][] free = new int[days][];
+        IntStream.range(0, days).parallel().forEach(day -> {
+            long firstQuantum = (startDate.toEpochDay() + day) * QUANTA_PER_DAY + dayFirstQuantum;
+            int[] busy = new int[slotsPerDay];
+            for (UserOccupancy occupancy : occupancies) {
+                occupancy.countBusySlots(firstQuantum, quantaPerSlot, busy);
+            }
+            int[] dayFree = new int[slotsPerDay];
+            for (int slot = 0; slot < slotsPerDay; slot++) {
+                dayFree[slot] = userIds.size() - busy[slot];
+            }
+            free[day] = dayFree;
+        });
+        return free;
+    }
+
+    /**
+     * Record a created or updated schedule
+     */
+    public void put(Schedule schedule) {
+        Interval interval = Interval.of(schedule);
+        AfterCommit.run(() -> apply(schedule.getUserId(), occupancy -> occupancy.with(interval)));
+    }
+
+    /**
+     * Record a batch of created schedules, rebuilding each affected user's bitmap once
+     */
+    public void putAll(List<Schedule> schedules) {
+        Map<Long, List<Interval>> byUser = schedules.stream()
+            .collect(Collectors.groupingBy(Schedule::getUserId,
+                Collectors.mapping(Interval::of, Collectors.toList())));
+        AfterCommit.run(() -> byUser.forEach((userId, added) -> apply(userId, occupancy -> occupancy.withAll(added))));
+    }
+
+    /**
+     * Forget a deleted schedule, or the previous owner's copy of a reassigned one
+     */
+    public void remove(Long userId, Long scheduleId) {
+        AfterCommit.run(() -> apply(userId, occupancy -> occupancy.without(scheduleId)));
+    }
+
+    /**
+     * Drop the users' bitmaps so they are reloaded on next access, for schedules
+     * removed without going through {@link ScheduleService}
+     */
+    public void evict(Collection<Long> userIds) {
+        AfterCommit.run(() -> userIds.forEach(userId -> {
+            activeLoads.forEach(touched -> touched.add(userId));
+            occupancyByUser.remove(userId);
+        }));
+    }
+
+    private void apply(Long userId, UnaryOperator<UserOccupancy> change) {
+        // Mark the user first, so a batch load that read the database before this
+        // write's commit does not install its stale copy afterwards
+        activeLoads.forEach(touched -> touched.add(userId));
+        occupancyByUser.computeIfPresent(userId, (id, occupancy) -> change.apply(occupancy));
+    }
+
+    private UserOccupancy getOccupancy(Long userId) {
+        LocalDate today = LocalDate.now();
+        UserOccupancy occupancy = occupancyByUser.get(userId);
+        if (isCurrent(occupancy, today)) {
+            return occupancy;
+        }
+        preload(List.of(userId));
+        occupancy = occupancyByUser.get(userId);
+        if (isCurrent(occupancy, today)) {
+            return occupancy;
+        }
+        // A write raced the load, so nothing was cached; answer from a load of our own
+        return loadIndexed(List.of(userId), today).getOrDefault(userId, UserOccupancy.empty(today, properties));
+    }
+
+    private boolean isCurrent(UserOccupancy occupancy, LocalDate today) {
+        long loadedAfter = System.currentTimeMillis() - properties.getMaxAgeMinutes() * 60_000L;
+        return occupancy != null && !occupancy.isStale(today, loadedAfter);
+    }
+
+    /**
+     * Load the bitmaps of the users not indexed or stale, outside the map so the
+     * queries hold no lock, and install those no write touched while they loaded
+     */
+    private void preload(Collection<Long> userIds) {
+        LocalDate today = LocalDate.now();
+        List<Long> missing = userIds.stream()
+            .distinct()
+            .filter(id -> !isCurrent(occupancyByUser.get(id), today))
+            .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Set<Long> touched = ConcurrentHashMap.newKeySet();
+        activeLoads.add(touched);
+        try {
+            Map<Long, UserOccupancy> loaded = loadIndexed(missing, today);
+            for (Long userId : missing) {
+                UserOccupancy occupancy = loaded.getOrDefault(userId, UserOccupancy.empty(today, properties));
+                // Users written to during the load are not cached; getOccupancy loads them uncached
+                occupancyByUser.compute(userId, (id, existing) ->
+                    isCurrent(existing, today) || touched.contains(id) ? existing : occupancy);
+            }
+        } finally {
+            activeLoads.remove(touched);
+        }
+    }
+
+    /**
+     * Build the bitmaps of the given users over the indexed days
+     */
+    private Map<Long, UserOccupancy> loadIndexed(List<Long> userIds, LocalDate today) {
+        return load(userIds, today, today.minusDays(properties.getPastDays()),
+            today.plusDays(properties.getFutureDays() + 1L));
+    }
+
+    /**
+     * Build the bitmaps of the given users from their schedules in [firstDay, endDay);
+     * users without schedules there are absent from the result
+     */
+    private Map<Long, UserOccupancy> load(List<Long> userIds, LocalDate today, LocalDate firstDay, LocalDate endDay) {
+        Map<Long, List<Interval>> intervalsByUser = new HashMap<>();
+        for (int start = 0; start < userIds.size(); start += USER_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(start, Math.min(start + USER_QUERY_CHUNK_SIZE, userIds.size()));
+            for (Object[] row : scheduleRepository.findOverlappingScheduleIntervalsForUsers(
+                    chunk, firstDay.atStartOfDay(), endDay.atStartOfDay())) {
+                intervalsByUser.computeIfAbsent((Long) row[1], id -> new ArrayList<>()).add(new Interval(
+                    (Long) row[0], toEpochSecond((LocalDateTime) row[2]), toEpochSecond((LocalDateTime) row[3])));
+            }
+        }
+
+        Map<Long, UserOccupancy> loaded = new HashMap<>();
+        intervalsByUser.forEach((userId, intervals) ->
+            loaded.put(userId, new UserOccupancy(today, firstDay, endDay, intervals.toArray(Interval[]::new))));
+        return loaded;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Immutable snapshot of one schedule's extent in epoch seconds
+     */
+    private static final class Interval {
+        private final long id;
+        private final long start;
+        private final long end;
+
+        private Interval(long id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+
+        static Interval of(Schedule schedule) {
+            return new Interval(
+                schedule.getId(),
+                toEpochSecond(schedule.getStartAt()),
+                toEpochSecond(schedule.getEndAt())
+            );
+        }
+    }
+
+    /**
+     * Immutable, copy-on-write bitmap of a user's occupied quanta over the indexed
+     * days, with the intervals it was built from so removals can clear shared quanta correctly
+     */
+    private static final class UserOccupancy {
+        private final LocalDate loadedOn;
+        private final long loadedAt;
+        private final long firstQuantum;
+        private final long endQuantum;
+        private final Interval[] intervals;
+        private final BitSet bits;
+
+        private UserOccupancy(LocalDate loadedOn, LocalDate firstDay, LocalDate endDay, Interval[] intervals) {
+            this(loadedOn, System.currentTimeMillis(), firstDay.toEpochDay() * QUANTA_PER_DAY,
+                endDay.toEpochDay() * QUANTA_PER_DAY, intervals);
+        }
+
+        private UserOccupancy(LocalDate loadedOn, long loadedAt, long firstQuantum, long endQuantum, Interval[] intervals) {
+            this.loadedOn = loadedOn;
+            this.loadedAt = loadedAt;
+            this.firstQuantum = firstQuantum;
+            this.endQuantum = endQuantum;
+            this.intervals = intervals;
+            this.bits = new BitSet();
+            for (Interval interval : intervals) {
+                occupy(bits, interval);
+            }
+        }
+
+        private UserOccupancy(UserOccupancy previous, Interval[] intervals, BitSet bits) {
+            this.loadedOn = previous.loadedOn;
+            this.loadedAt = previous.loadedAt;
+            this.firstQuantum = previous.firstQuantum;
+            this.endQuantum = previous.endQuantum;
+            this.intervals = intervals;
+            this.bits = bits;
+        }
+
+        static UserOccupancy empty(LocalDate today, OccupancyProperties properties) {
+            return new UserOccupancy(today, today.minusDays(properties.getPastDays()),
+                today.plusDays(properties.getFutureDays() + 1L), new Interval[0]);
+        }
+
+        /**
+         * Loaded on an earlier day, so the indexed days no longer follow the configured
+         * window, or loaded from the database before {@code loadedAfter} (epoch millis)
+         */
+        boolean isStale(LocalDate today, long loadedAfter) {
+            return loadedOn.isBefore(today) || loadedAt < loadedAfter;
+        }
+
+        UserOccupancy with(Interval interval) {
+            boolean replaces = Arrays.stream(intervals).anyMatch(existing -> existing.id == interval.id);
+            if (replaces) {
+                return withAll(List.of(interval));
+            }
+            if (!covers(interval)) {
+                return this;
+            }
+            Interval[] updated = Arrays.copyOf(intervals, intervals.length + 1);
+            updated[intervals.length] = interval;
+            BitSet updatedBits = (BitSet) bits.clone();
+            occupy(updatedBits, interval);
+            return new UserOccupancy(this, updated, updatedBits);
+        }
+
+        UserOccupancy withAll(List<Interval> added) {
+            Set<Long> addedIds = added.stream().map(interval -> interval.id).collect(Collectors.toSet());
+            Interval[] updated = Stream.concat(
+                    Arrays.stream(intervals).filter(existing -> !addedIds.contains(existing.id)),
+                    added.stream().filter(this::covers))
+                .toArray(Interval[]::new);
+            return new UserOccupancy(loadedOn, loadedAt, firstQuantum, endQuantum, updated);
+        }
+
+        UserOccupancy without(Long scheduleId) {
+            Interval[] updated = Arrays.stream(intervals)
+                .filter(existing -> existing.id != scheduleId)
+                .toArray(Interval[]::new);
+            // Quanta may be shared with other schedules, so rebuild rather than clear bits
+            return updated.length == intervals.length
+                ? this
+                : new UserOccupancy(loadedOn, loadedAt, firstQuantum, endQuantum, updated);
+        }
+
+        Occupancy check(long start, long end) {
+            if (end <= start) {
+                return Occupancy.UNKNOWN;
+            }
+            // Quanta touched by the window, and those lying wholly inside it
+            long touchedFrom = Math.floorDiv(start, QUANTUM_SECONDS);
+            long touchedTo = -Math.floorDiv(-end, QUANTUM_SECONDS);
+            if (touchedFrom < firstQuantum || touchedTo > endQuantum) {
+                return Occupancy.UNKNOWN;
+            }
+            if (!anySet(touchedFrom, touchedTo)) {
+                return Occupancy.FREE;
+            }
+            long innerFrom = -Math.floorDiv(-start, QUANTUM_SECONDS);
+            long innerTo = Math.floorDiv(end, QUANTUM_SECONDS);
+            if (anySet(innerFrom, innerTo)) {
+                return Occupancy.BUSY;
+            }
+            return Occupancy.UNKNOWN;
+        }
+
+        /**
+         * Add one to {@code busy[slot]} for every slot, starting at {@code firstQuantum},
+         * with an occupied quantum
+         */
+        void countBusySlots(long firstQuantum, int quantaPerSlot, int[] busy) {
+            int dayStart = (int) (firstQuantum - this.firstQuantum);
+            int dayEnd = dayStart + busy.length * quantaPerSlot;
+            int bit = bits.nextSetBit(dayStart);
+            while (bit >= 0 && bit < dayEnd) {
+                int slot = (bit - dayStart) / quantaPerSlot;
+                busy[slot]++;
+                // Skip the rest of the slot
+                bit = bits.nextSetBit(dayStart + (slot + 1) * quantaPerSlot);
+            }
+        }
+
+        private boolean covers(Interval interval) {
+            return interval.start < endQuantum * QUANTUM_SECONDS && interval.end > firstQuantum * QUANTUM_SECONDS;
+        }
+
+        private boolean anySet(long fromQuantum, long toQuantum) {
+            if (fromQuantum >= toQuantum) {
+                return false;
+            }
+            int next = bits.nextSetBit((int) (fromQuantum - firstQuantum));
+            return next >= 0 && next < toQuantum - firstQuantum;
+        }
+
+        private void occupy(BitSet target, Interval interval) {
+            long from = Math.max(Math.floorDiv(interval.start, QUANTUM_SECONDS), firstQuantum);
+            long to = Math.min(-Math.floorDiv(-interval.end, QUANTUM_SECONDS), endQuantum);
+            if (from < to) {
+                target.set((int) (from - firstQuantum), (int) (to - firstQuantum));
+            }
+        }
+    }
+}
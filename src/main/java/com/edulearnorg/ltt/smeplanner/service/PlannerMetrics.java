@@ -0,0 +1,100 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Application meters beyond the ones Spring Boot records itself.
+ *
+ * Repository methods are timed by Spring Boot as {@code spring.data.repository.invocations};
+ * this class adds counters for detected conflicts and bulk outcomes and distribution
+ * summaries of how many users the availability searches, heatmaps and effort reports
+ * work on. All of them are scraped from {@code /actuator/prometheus}.
+ */
+@Component
+public class PlannerMetrics {
+
+    public static final String CREATE = "create";
+    public static final String UPDATE = "update";
+    public static final String CHECK = "check";
+    public static final String BULK = "bulk";
+
+    private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter bulkAccepted;
+
+    private final Counter bulkRejected;
+
+    private final DistributionSummary heatmapUsers;
+
+    public PlannerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.bulkAccepted = bulkCounter("accepted");
+        this.bulkRejected = bulkCounter("rejected");
+        this.heatmapUsers = summary("planner.availability.heatmap.users", "Team members counted per availability heatmap")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Count a schedule rejected or reported for overlapping an existing one, by the operation that found it
+     */
+    public void conflictDetected(String operation) {
+        Counter.builder("planner.schedule.conflicts")
+            .description("Schedule conflicts detected")
+            .tag("operation", operation)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    public void bulkSchedulesProcessed(int accepted, int rejected) {
+        bulkAccepted.increment(accepted);
+        bulkRejected.increment(rejected);
+    }
+
+    /**
+     * Record the users an availability search considered and how many of them the
+     * occupancy index could not decide, so that they were looked up in the database
+     */
+    public void availabilitySearched(String search, int users, int queriedUsers) {
+        summary("planner.availability.search.users", "Users considered per availability search")
+            .tag("search", search)
+            .register(meterRegistry)
+            .record(users);
+        summary("planner.availability.search.queried.users", "Users looked up in the database per availability search")
+            .tag("search", search)
+            .register(meterRegistry)
+            .record(queriedUsers);
+    }
+
+    public void heatmapComputed(int users) {
+        heatmapUsers.record(users);
+    }
+
+    /**
+     * Record the number of SMEs a consolidated effort report covers, for the "supervisor" or "lead" scope
+     */
+    public void effortReported(String scope, int smes) {
+        summary("planner.effort.report.smes", "SMEs covered per consolidated effort report")
+            .tag("scope", scope)
+            .register(meterRegistry)
+            .record(smes);
+    }
+
+    private Counter bulkCounter(String outcome) {
+        return Counter.builder("planner.bulk.schedules")
+            .description("Schedules processed by bulk creations and imports")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static DistributionSummary.Builder summary(String name, String description) {
+        return DistributionSummary.builder(name)
+            .description(description)
+            .publishPercentiles(PERCENTILES);
+    }
+}
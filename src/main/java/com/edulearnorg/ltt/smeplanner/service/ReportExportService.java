@@ -0,0 +1,242 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.edulearnorg.ltt.smeplanner.config.ExportProperties;
+import com.edulearnorg.ltt.smeplanner.dto.ConsolidatedMonthlyEffortResponse.ReporteeEffortSummary;
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+import com.edulearnorg.ltt.smeplanner.repository.SmeActivityGroupRepository;
+import com.edulearnorg.ltt.smeplanner.service.UserDirectory.DirectoryUser;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Writes effort reports and raw schedules as CSV while they are read.
+ *
+ * Every query runs as a forward-only result stream with the configured
+ * {@code export.fetch-size}, and each row is written as soon as it is read, so an
+ * export of a whole year for all SMEs needs no more memory than a single row.
+ * Effort rows are the per-user summaries of the consolidated reports, one month
+ * after the other; the report object graph is never built.
+ */
+@Service
+public class ReportExportService {
+
+    private static final List<String> EFFORT_COLUMNS = List.of(
+        "monthYear", "smeId", "smeName", "smeEmail", "smeConnectCount", "byteSizedCount",
+        "lateralTrainingCount", "questionContributionCount", "totalHoursAllocated", "totalSessions"
+    );
+
+    private static final List<String> SCHEDULE_COLUMNS = List.of(
+        "id", "userId", "userName", "userEmail", "fromDate", "toDate", "fromTime", "toTime",
+        "activityId", "activityName", "description"
+    );
+
+    private static final String SCHEDULES_SELECT =
+        "SELECT s.id, s.userId, u.name, u.email, s.fromDate, s.toDate, s.fromTime, s.toTime, " +
+        "s.activityId, s.activityName, s.description " +
+        "FROM Schedule s JOIN s.user u " +
+        "WHERE u.role = :role AND s.fromDate >= :from AND s.fromDate <= :to ";
+
+    private final UserDirectory userDirectory;
+
+    private final ActivityGroupRollupBuffer rollupBuffer;
+
+    private final ExportProperties properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+        .enable(CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING)
+        .build();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ReportExportService(UserDirectory userDirectory, ActivityGroupRollupBuffer rollupBuffer,
+                               ExportProperties properties, PlatformTransactionManager transactionManager) {
+        this.userDirectory = userDirectory;
+        this.rollupBuffer = rollupBuffer;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Check that the user exists and is a supervisor
+     */
+    public void checkSupervisor(Long supervisorId) {
+        DirectoryUser supervisor = userDirectory.findById(supervisorId)
+            .orElseThrow(() -> new RuntimeException("Supervisor not found"));
+        if (supervisor.getRole() != UserRole.SUPERVISOR) {
+            throw new RuntimeException("User is not a supervisor");
+        }
+    }
+
+    /**
+     * Check that a month range is ordered and no longer than {@code export.max-months}
+     */
+    public void checkMonthRange(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start month must be before or equal to end month");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= properties.getMaxMonths()) {
+            throw new IllegalArgumentException("Exports are limited to " + properties.getMaxMonths() + " months");
+        }
+    }
+
+    /**
+     * Check that a date range is ordered and no longer than {@code export.max-months}
+     */
+    public void checkDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must be before or equal to end date");
+        }
+        checkMonthRange(YearMonth.from(from), YearMonth.from(to));
+    }
+
+    /**
+     * Write the effort summaries of every month in the range, for the reportees of a
+     * supervisor or, when the supervisor ID is null, for all SMEs
+     */
+    public void exportEffort(Long supervisorId, YearMonth from, YearMonth to, OutputStream output) throws IOException {
+        // Apply buffered rollup changes before the read-only transaction starts
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            rollupBuffer.flushMonth(month.toString());
+        }
+
+        try (SequenceWriter writer = openWriter(EFFORT_COLUMNS, output)) {
+            inReadOnlyTransaction(() -> {
+                for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                    String monthYear = month.toString();
+                    try (Stream<ReporteeEffortSummary> summaries = effortQuery(supervisorId, monthYear).getResultStream()) {
+                        summaries.forEach(summary -> write(writer, new Object[] {
+                            monthYear,
+                            summary.getSmeId(),
+                            text(summary.getSmeName()),
+                            text(summary.getSmeEmail()),
+                            summary.getSmeConnectCount(),
+                            summary.getByteSizedCount(),
+                            summary.getLateralTrainingCount(),
+                            summary.getQuestionContributionCount(),
+                            summary.getTotalHoursAllocated(),
+                            summary.getTotalSessions()
+                        }));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Write the schedules starting in the date range, of the reportees of a supervisor
+     * or, when the supervisor ID is null, of all SMEs
+     */
+    public void exportSchedules(Long supervisorId, LocalDate from, LocalDate to, OutputStream output) throws IOException {
+        try (SequenceWriter writer = openWriter(SCHEDULE_COLUMNS, output)) {
+            inReadOnlyTransaction(() -> {
+                TypedQuery<Object[]> query = entityManager.createQuery(
+                        SCHEDULES_SELECT + (supervisorId != null ? "AND u.supervisor.id = :supervisorId " : "") +
+                        "ORDER BY s.fromDate, s.id", Object[].class)
+                    .setParameter("role", UserRole.SME)
+                    .setParameter("from", from)
+                    .setParameter("to", to);
+                if (supervisorId != null) {
+                    query.setParameter("supervisorId", supervisorId);
+                }
+                try (Stream<Object[]> rows = streaming(query).getResultStream()) {
+                    rows.forEach(row -> {
+                        row[2] = text((String) row[2]);
+                        row[3] = text((String) row[3]);
+                        row[4] = String.valueOf(row[4]);
+                        row[5] = String.valueOf(row[5]);
+                        row[6] = ((LocalTime) row[6]).format(DateTimeFormatter.ISO_LOCAL_TIME);
+                        row[7] = ((LocalTime) row[7]).format(DateTimeFormatter.ISO_LOCAL_TIME);
+                        row[9] = text((String) row[9]);
+                        row[10] = text((String) row[10]);
+                        write(writer, row);
+                    });
+                }
+            });
+        }
+    }
+
+    private TypedQuery<ReporteeEffortSummary> effortQuery(Long supervisorId, String monthYear) {
+        TypedQuery<ReporteeEffortSummary> query = entityManager.createQuery(supervisorId != null
+                ? SmeActivityGroupRepository.SUMMARIZE_EFFORT_BY_SUPERVISOR_AND_MONTH
+                : SmeActivityGroupRepository.SUMMARIZE_EFFORT_BY_ROLE_AND_MONTH, ReporteeEffortSummary.class)
+            .setParameter("role", UserRole.SME)
+            .setParameter("monthYear", monthYear)
+            .setParameter("smeConnectCategory", MonthlyEffortService.SME_CONNECT_CATEGORY)
+            .setParameter("byteSizedCategory", MonthlyEffortService.BYTE_SIZED_CATEGORY)
+            .setParameter("lateralTrainingCategory", MonthlyEffortService.LATERAL_TRAINING_CATEGORY);
+        if (supervisorId != null) {
+            query.setParameter("supervisorId", supervisorId);
+        }
+        return streaming(query);
+    }
+
+    private <T> TypedQuery<T> streaming(TypedQuery<T> query) {
+        return query
+            .setHint(HibernateHints.HINT_FETCH_SIZE, properties.getFetchSize())
+            .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private SequenceWriter openWriter(List<String> columns, OutputStream output) throws IOException {
+        CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+        columns.forEach(schema::addColumn);
+        return csvMapper.writer(schema.build()).writeValues(output);
+    }
+
+    private void inReadOnlyTransaction(Runnable action) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> action.run());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void write(SequenceWriter writer, Object[] row) {
+        // Null array elements are dropped by the CSV generator, which would shift the following columns
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] == null) {
+                row[i] = "";
+            }
+        }
+        try {
+            writer.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Free text as a cell; text a spreadsheet would read as a formula is prefixed with a quote
+     */
+    private String text(String value) {
+        if (value != null && !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            return "'" + value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,89 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.edulearnorg.ltt.smeplanner.repository.ScheduleRepository;
+import com.edulearnorg.ltt.smeplanner.repository.SmeActivityGroupRepository;
+
+/**
+ * Data versions used as ETags for conditional GET requests.
+ *
+ * Activity tags come from the {@link ActivityCatalog} version, schedule tags from
+ * the count and latest {@code updated_at} of the user's schedules, and effort report
+ * tags from the count and latest {@code updated_at} of the month's activity groups
+ * and of the users the report covers. The catalog version restarts at zero on every
+ * instance, so activity tags also carry the start time of this instance and a tag
+ * issued elsewhere or before a restart never matches.
+ */
+@Component
+public class ResourceVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ActivityCatalog activityCatalog;
+
+    private final ScheduleRepository scheduleRepository;
+
+    private final SmeActivityGroupRepository smeActivityGroupRepository;
+
+    private final ActivityGroupRollupBuffer rollupBuffer;
+
+    public ResourceVersions(ActivityCatalog activityCatalog, ScheduleRepository scheduleRepository, SmeActivityGroupRepository smeActivityGroupRepository,
+                            ActivityGroupRollupBuffer rollupBuffer) {
+        this.activityCatalog = activityCatalog;
+        this.scheduleRepository = scheduleRepository;
+        this.smeActivityGroupRepository = smeActivityGroupRepository;
+        this.rollupBuffer = rollupBuffer;
+    }
+
+    /**
+     * ETag of the activity list
+     */
+    public String activitiesTag() {
+        return "activities-" + epoch + "-" + activityCatalog.getVersion();
+    }
+
+    /**
+     * ETag of a user's schedule list; costs one aggregate query
+     */
+    public String schedulesTag(Long userId) {
+        return "schedules-" + userId + "-" + version(scheduleRepository.getScheduleVersionByUserId(userId));
+    }
+
+    /**
+     * ETag of an effort report of a month, as seen by the given viewer, covering the
+     * reportees of the given supervisor or all SMEs when it is null; costs one
+     * aggregate query, after writing any buffered rollups of the month
+     */
+    public String effortTag(String monthYear, Long viewerId, Long supervisorId) {
+        rollupBuffer.flushMonth(monthYear);
+        List<Object[]> rows = supervisorId != null
+            ? smeActivityGroupRepository.getEffortVersionByMonthAndSupervisor(monthYear, supervisorId)
+            : smeActivityGroupRepository.getEffortVersionByMonth(monthYear);
+        return "effort-" + monthYear + "-" + viewerId + "-" + version(rows);
+    }
+
+    /**
+     * Tag part from a row of (count, latest updated_at) pairs
+     */
+    private static String version(List<Object[]> rows) {
+        Object[] row = rows.isEmpty() ? new Object[2] : rows.get(0);
+        StringBuilder version = new StringBuilder();
+        for (int i = 0; i + 1 < row.length; i += 2) {
+            long count = row[i] != null ? ((Number) row[i]).longValue() : 0;
+            LocalDateTime lastUpdated = (LocalDateTime) row[i + 1];
+            long lastUpdatedMicros = lastUpdated != null
+                ? lastUpdated.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastUpdated.getNano() / 1_000
+                : 0;
+            if (i > 0) {
+                version.append('-');
+            }
+            version.append(count).append('-').append(Long.toString(lastUpdatedMicros, 36));
+        }
+        return version.toString();
+    }
+}
@@ -0,0 +1,270 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+import com.edulearnorg.ltt.smeplanner.repository.ScheduleRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-memory per-user index of schedule intervals used to answer conflict checks
+ * without querying the database.
+ *
+ * Each user's schedules are loaded lazily from {@link ScheduleRepository} on first
+ * access and kept in sync by {@link ScheduleService} on create, update and delete,
+ * and evicted when their schedules are removed in bulk (see {@link ActivityService#deleteActivity}).
+ * Changes are applied once their transaction commits ({@link AfterCommit}). Only writes made
+ * through this instance are seen, so the index is advisory: a conflict it reports
+ * is confirmed against the database, schedule writes always check the database, and
+ * a user's intervals are reloaded once they are older than {@code conflict-index.max-age}.
+ * At most {@code conflict-index.maximum-size} users are held, and users not checked
+ * within the max age are dropped.
+ */
+@Component
+public class ScheduleConflictIndex {
+
+    private final ScheduleRepository scheduleRepository;
+
+    private final Duration maxAge;
+
+    private final ConcurrentMap<Long, UserIntervals> intervalsByUser;
+
+    public ScheduleConflictIndex(ScheduleRepository scheduleRepository, MeterRegistry meterRegistry,
+                                 @Value("${conflict-index.maximum-size:10000}") long maximumSize,
+                                 @Value("${conflict-index.max-age:5m}") Duration maxAge) {
+        this.scheduleRepository = scheduleRepository;
+        this.maxAge = maxAge;
+        Cache<Long, UserIntervals> cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(maxAge)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "scheduleConflictIndex");
+        this.intervalsByUser = cache.asMap();
+    }
+
+    /**
+     * Check whether the half-open range [startAt, endAt) overlaps any indexed schedule
+     * of the user, using the same predicate as {@link ScheduleRepository#findOverlappingSchedules}
+     *
+     * @param excludeScheduleId schedule to ignore (the one being updated), may be null
+     */
+    public boolean hasConflict(Long userId, LocalDateTime startAt, LocalDateTime endAt, Long excludeScheduleId) {
+        return getIntervals(userId).overlaps(toEpochSecond(startAt), toEpochSecond(endAt), excludeScheduleId);
+    }
+
+    /**
+     * Record a created or updated schedule
+     */
+    public void put(Schedule schedule) {
+        Interval interval = Interval.of(schedule);
+        AfterCommit.run(() -> apply(interval.userId, intervals -> intervals.with(interval)));
+    }
+
+    /**
+     * Record a batch of created schedules, rebuilding each affected user's intervals once
+     */
+    public void putAll(List<Schedule> schedules) {
+        Map<Long, List<Interval>> byUser = schedules.stream()
+            .map(Interval::of)
+            .collect(Collectors.groupingBy(interval -> interval.userId));
+        AfterCommit.run(() -> byUser.forEach((userId, added) -> apply(userId, intervals -> intervals.withAll(added))));
+    }
+
+    /**
+     * Forget a deleted schedule, or the previous owner's copy of a reassigned one
+     */
+    public void remove(Long userId, Long scheduleId) {
+        AfterCommit.run(() -> apply(userId, intervals -> intervals.without(scheduleId)));
+    }
+
+    /**
+     * Drop the users' intervals so they are reloaded on next access, for schedules
+     * removed without going through {@link ScheduleService}
+     */
+    public void evict(Collection<Long> userIds) {
+        AfterCommit.run(() -> userIds.forEach(intervalsByUser::remove));
+    }
+
+    private void apply(Long userId, UnaryOperator<UserIntervals> change) {
+        // A write racing a load drops the load's token, so the load is not cached
+        intervalsByUser.computeIfPresent(userId, (id, intervals) -> intervals.isLoading() ? null : change.apply(intervals));
+    }
+
+    private UserIntervals getIntervals(Long userId) {
+        long now = System.nanoTime();
+        UserIntervals intervals = intervalsByUser.get(userId);
+        if (intervals != null && !intervals.isLoading()) {
+            if (now - intervals.loadedAt < maxAge.toNanos()) {
+                return intervals;
+            }
+            intervalsByUser.remove(userId, intervals);
+        }
+        // Load outside the map so other lookups and writes are not blocked on the query.
+        // The token marks this user's load; it is only replaced by the result if no
+        // write to the user removed it in the meantime.
+        UserIntervals token = UserIntervals.loading();
+        boolean claimed = intervalsByUser.putIfAbsent(userId, token) == null;
+        try {
+            UserIntervals loaded = UserIntervals.load(scheduleRepository.findByUserId(userId), now);
+            if (claimed) {
+                intervalsByUser.replace(userId, token, loaded);
+            }
+            return loaded;
+        } finally {
+            if (claimed) {
+                intervalsByUser.remove(userId, token);
+            }
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Immutable snapshot of one schedule's extent
+     */
+    private static final class Interval {
+        private final long id;
+        private final long userId;
+        private final long start;
+        private final long end;
+
+        private Interval(long id, long userId, long start, long end) {
+            this.id = id;
+            this.userId = userId;
+            this.start = start;
+            this.end = end;
+        }
+
+        static Interval of(Schedule schedule) {
+            return new Interval(
+                schedule.getId(),
+                schedule.getUserId(),
+                toEpochSecond(schedule.getStartAt()),
+                toEpochSecond(schedule.getEndAt())
+            );
+        }
+    }
+
+    /**
+     * Immutable, copy-on-write array of a user's intervals sorted by start,
+     * with a running maximum of ends so lookups can stop scanning early.
+     * Updates keep the load time, so a user's intervals are still reloaded on schedule.
+     */
+    private static final class UserIntervals {
+        private static final Comparator<Interval> BY_START = Comparator
+            .comparingLong((Interval interval) -> interval.start)
+            .thenComparingLong(interval -> interval.id);
+
+        private final Interval[] intervals;
+        private final long[] maxEnd;
+        // System.nanoTime() of the load; Long.MIN_VALUE for a load in progress
+        private final long loadedAt;
+
+        private UserIntervals(Interval[] sortedIntervals, long loadedAt) {
+            this.intervals = sortedIntervals;
+            this.loadedAt = loadedAt;
+            this.maxEnd = new long[sortedIntervals.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < sortedIntervals.length; i++) {
+                max = Math.max(max, sortedIntervals[i].end);
+                maxEnd[i] = max;
+            }
+        }
+
+        static UserIntervals load(List<Schedule> schedules, long loadedAt) {
+            Interval[] loaded = schedules.stream()
+                .map(Interval::of)
+                .sorted(BY_START)
+                .toArray(Interval[]::new);
+            return new UserIntervals(loaded, loadedAt);
+        }
+
+        /**
+         * Placeholder held in the map while a load is in progress
+         */
+        static UserIntervals loading() {
+            return new UserIntervals(new Interval[0], Long.MIN_VALUE);
+        }
+
+        boolean isLoading() {
+            return loadedAt == Long.MIN_VALUE;
+        }
+
+        UserIntervals with(Interval interval) {
+            Interval[] updated = Arrays.stream(intervals)
+                .filter(existing -> existing.id != interval.id)
+                .toArray(size -> new Interval[size + 1]);
+            updated[updated.length - 1] = interval;
+            Arrays.sort(updated, BY_START);
+            return new UserIntervals(updated, loadedAt);
+        }
+
+        UserIntervals withAll(List<Interval> added) {
+            Set<Long> addedIds = added.stream().map(interval -> interval.id).collect(Collectors.toSet());
+            Interval[] updated = Stream.concat(
+                    Arrays.stream(intervals).filter(existing -> !addedIds.contains(existing.id)),
+                    added.stream())
+                .sorted(BY_START)
+                .toArray(Interval[]::new);
+            return new UserIntervals(updated, loadedAt);
+        }
+
+        UserIntervals without(Long scheduleId) {
+            Interval[] updated = Arrays.stream(intervals)
+                .filter(existing -> existing.id != scheduleId)
+                .toArray(Interval[]::new);
+            return updated.length == intervals.length ? this : new UserIntervals(updated, loadedAt);
+        }
+
+        boolean overlaps(long start, long end, Long excludeScheduleId) {
+            // Last interval starting before the window ends
+            int i = lastStartingBefore(end);
+            for (; i >= 0 && maxEnd[i] > start; i--) {
+                Interval interval = intervals[i];
+                if (interval.end > start
+                        && (excludeScheduleId == null || interval.id != excludeScheduleId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int lastStartingBefore(long time) {
+            int low = 0;
+            int high = intervals.length - 1;
+            int result = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (intervals[mid].start < time) {
+                    result = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+
+/**
+ * Position in a user's schedules ordered by (fromDate, id), exchanged with
+ * clients as an opaque URL-safe token
+ */
+public final class ScheduleCursor {
+
+    private final LocalDate fromDate;
+
+    private final Long id;
+
+    private ScheduleCursor(LocalDate fromDate, Long id) {
+        this.fromDate = fromDate;
+        this.id = id;
+    }
+
+    /**
+     * Cursor positioned after the given schedule
+     */
+    public static ScheduleCursor after(Schedule schedule) {
+        return new ScheduleCursor(schedule.getFromDate(), schedule.getId());
+    }
+
+    /**
+     * Decode a token issued by {@link #encode()}
+     */
+    public static ScheduleCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new ScheduleCursor(LocalDate.parse(value.substring(0, separator)),
+                Long.valueOf(value.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String value = fromDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,187 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.edulearnorg.ltt.smeplanner.config.BulkImportProperties;
+import com.edulearnorg.ltt.smeplanner.dto.CreateScheduleRequest;
+import com.edulearnorg.ltt.smeplanner.dto.ScheduleImportRowResult;
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Streams schedules from NDJSON or CSV input into the database.
+ *
+ * Rows are parsed one at a time, validated, and handed to {@link BulkScheduleService}
+ * in chunks of {@code bulk-import.chunk-size}; the result of every row is written as
+ * one NDJSON line as soon as its chunk is done. Only the current chunk is held in
+ * memory, whatever the size of the input. CSV input needs a header row naming the
+ * {@link CreateScheduleRequest} properties.
+ */
+@Service
+public class ScheduleImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private final BulkScheduleService bulkScheduleService;
+
+    private final BulkImportProperties properties;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectReader ndjsonReader;
+
+    private final ObjectReader csvReader;
+
+    public ScheduleImportService(BulkScheduleService bulkScheduleService, BulkImportProperties properties,
+                                 Validator validator, ObjectMapper objectMapper) {
+        this.bulkScheduleService = bulkScheduleService;
+        this.properties = properties;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.ndjsonReader = objectMapper.readerFor(CreateScheduleRequest.class);
+        CsvMapper csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+        this.csvReader = csvMapper.readerFor(CreateScheduleRequest.class)
+            .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    /**
+     * Import all rows of the input for the given user and write one result line per row
+     */
+    public void importSchedules(InputStream input, Format format, Long userId, OutputStream output) throws IOException {
+        ObjectReader reader = format == Format.CSV ? csvReader : ndjsonReader;
+
+        try (MappingIterator<CreateScheduleRequest> rows = reader.readValues(input);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            Chunk chunk = new Chunk();
+            long rowNumber = 0;
+
+            while (true) {
+                CreateScheduleRequest request;
+                // Counted before reading, so an error raised while looking for the row is reported against it
+                rowNumber++;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    request = rows.nextValue();
+                } catch (JsonParseException e) {
+                    // The input cannot be read past this point
+                    chunk.fail(rowNumber, "Malformed input: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    chunk.fail(rowNumber, "Invalid row: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                String error = validate(request, userId);
+                if (error != null) {
+                    chunk.fail(rowNumber, error);
+                } else {
+                    chunk.add(rowNumber, ScheduleRequests.toSchedule(request));
+                }
+
+                if (chunk.size() >= properties.getChunkSize()) {
+                    writeResults(flush(chunk), generator);
+                    chunk = new Chunk();
+                }
+            }
+            writeResults(flush(chunk), generator);
+            generator.writeRaw('\n');
+        }
+    }
+
+    private String validate(CreateScheduleRequest request, Long userId) {
+        if (request == null) {
+            return "Empty row";
+        }
+
+        List<String> violations = validator.validate(request).stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.toList());
+        if (!violations.isEmpty()) {
+            return String.join("; ", violations);
+        }
+
+        return ScheduleRequests.validate(request, userId);
+    }
+
+    /**
+     * Insert the chunk's valid rows and return the results of all its rows in row order
+     */
+    private List<ScheduleImportRowResult> flush(Chunk chunk) {
+        if (!chunk.candidates.isEmpty()) {
+            try {
+                BulkScheduleService.BulkResult result = bulkScheduleService.createSchedules(chunk.candidates);
+                result.getErrors().forEach((position, message) ->
+                    chunk.results.set(position, ScheduleImportRowResult.failed(chunk.rowNumbers.get(position), message)));
+                result.getCreatedByIndex().forEach((position, created) ->
+                    chunk.results.set(position, ScheduleImportRowResult.created(chunk.rowNumbers.get(position), created.getId())));
+            } catch (RuntimeException e) {
+                // The chunk was rolled back as a whole
+                chunk.candidates.keySet().forEach(position -> chunk.results.set(position,
+                    ScheduleImportRowResult.failed(chunk.rowNumbers.get(position), "Unexpected error: " + e.getMessage())));
+            }
+        }
+        return chunk.results;
+    }
+
+    private void writeResults(List<ScheduleImportRowResult> results, JsonGenerator generator) throws IOException {
+        for (ScheduleImportRowResult result : results) {
+            generator.writeObject(result);
+        }
+        generator.flush();
+    }
+
+    /**
+     * Rows read since the last flush, by position within the chunk
+     */
+    private static class Chunk {
+        private final List<Long> rowNumbers = new ArrayList<>();
+        private final List<ScheduleImportRowResult> results = new ArrayList<>();
+        private final Map<Integer, Schedule> candidates = new LinkedHashMap<>();
+
+        void add(long rowNumber, Schedule schedule) {
+            candidates.put(rowNumbers.size(), schedule);
+            rowNumbers.add(rowNumber);
+            results.add(null);
+        }
+
+        void fail(long rowNumber, String message) {
+            rowNumbers.add(rowNumber);
+            results.add(ScheduleImportRowResult.failed(rowNumber, message));
+        }
+
+        int size() {
+            return rowNumbers.size();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.edulearnorg.ltt.smeplanner.dto.CreateScheduleRequest;
+import com.edulearnorg.ltt.smeplanner.dto.UpdateScheduleRequest;
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+
+/**
+ * Validation and mapping of schedule create and update requests, shared by the
+ * single, bulk, asynchronous and streamed create paths
+ */
+public final class ScheduleRequests {
+
+    public static final String DATE_ERROR = "From date must be before or equal to to date";
+
+    public static final String TIME_ERROR = "From time must be before to time on the same date";
+
+    public static final String OWNERSHIP_ERROR = "You can only create schedules for yourself";
+
+    private ScheduleRequests() {
+    }
+
+    /**
+     * Error message for a request that is not the user's own or has an invalid range, or null
+     */
+    public static String validate(CreateScheduleRequest request, Long userId) {
+        if (!request.getUserId().equals(userId)) {
+            return OWNERSHIP_ERROR;
+        }
+        return validateRange(request);
+    }
+
+    /**
+     * Error message for an invalid date and time range, or null
+     */
+    public static String validateRange(CreateScheduleRequest request) {
+        return validateRange(request.getFromDate(), request.getToDate(), request.getFromTime(), request.getToTime());
+    }
+
+    /**
+     * Error message for an invalid date and time range, or null
+     */
+    public static String validateRange(UpdateScheduleRequest request) {
+        return validateRange(request.getFromDate(), request.getToDate(), request.getFromTime(), request.getToTime());
+    }
+
+    public static Schedule toSchedule(CreateScheduleRequest request) {
+        Schedule schedule = new Schedule();
+        schedule.setUserId(request.getUserId());
+        schedule.setFromDate(request.getFromDate());
+        schedule.setToDate(request.getToDate());
+        schedule.setFromTime(request.getFromTime());
+        schedule.setToTime(request.getToTime());
+        schedule.setActivityId(request.getActivityId());
+        schedule.setActivityName(request.getActivityName());
+        schedule.setDescription(request.getDescription());
+        return schedule;
+    }
+
+    public static Schedule toSchedule(UpdateScheduleRequest request, Long userId) {
+        Schedule schedule = new Schedule();
+        schedule.setUserId(userId);
+        schedule.setFromDate(request.getFromDate());
+        schedule.setToDate(request.getToDate());
+        schedule.setFromTime(request.getFromTime());
+        schedule.setToTime(request.getToTime());
+        schedule.setActivityId(request.getActivityId());
+        schedule.setActivityName(request.getActivityName());
+        schedule.setDescription(request.getDescription());
+        return schedule;
+    }
+
+    private static String validateRange(LocalDate fromDate, LocalDate toDate, LocalTime fromTime, LocalTime toTime) {
+        if (fromDate.isAfter(toDate)) {
+            return DATE_ERROR;
+        }
+        if (fromDate.equals(toDate) && fromTime.isAfter(toTime)) {
+            return TIME_ERROR;
+        }
+        return null;
+    }
+}
@@ -1,15 +1,24 @@
 package com.edulearnorg.ltt.smeplanner.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.edulearnorg.ltt.smeplanner.config.ScheduleListingProperties;
 import com.edulearnorg.ltt.smeplanner.entity.Schedule;
 import com.edulearnorg.ltt.smeplanner.entity.User;
 import com.edulearnorg.ltt.smeplanner.enums.UserRole;
@@ -18,9 +27,18 @@ import com.edulearnorg.ltt.smeplanner.repository.UserRepository;
 import com.edulearnorg.ltt.smeplanner.dto.UserAvailabilityResponse;
 import com.edulearnorg.ltt.smeplanner.dto.UserAvailabilitySearchRequest;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class ScheduleService {
     
+    /**
+     * Maximum number of user IDs bound into a single IN clause when loading
+     * availability conflicts
+     */
+    private static final int AVAILABILITY_QUERY_CHUNK_SIZE = 1000;
+    
     @Autowired
     private ScheduleRepository scheduleRepository;
     
@@ -30,6 +48,24 @@ public class ScheduleService {
     @Autowired
     private SmeActivityGroupService smeActivityGroupService;
     
+    @Autowired
+    private ScheduleConflictIndex scheduleConflictIndex;
+    
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+    
+    @Autowired
+    private UserDirectory userDirectory;
+    
+    @Autowired
+    private ScheduleListingProperties listingProperties;
+    
+    @Autowired
+    private PlannerMetrics plannerMetrics;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
      * Get all schedules
      */
@@ -51,6 +87,38 @@ public class ScheduleService {
         return scheduleRepository.findByUserId(userId);
     }
     
+    /**
+     * Get one page of a user's schedules in (fromDate, id) order, starting after
+     * the cursor or at the beginning when the cursor is null
+     */
+    public List<Schedule> getSchedulePageByUserId(Long userId, ScheduleCursor cursor, int size) {
+        if (cursor == null) {
+            return scheduleRepository.findPageByUserId(userId, Limit.of(size));
+        }
+        return scheduleRepository.findPageByUserIdAfter(userId, cursor.getFromDate(), cursor.getId(), Limit.of(size));
+    }
+    
+    /**
+     * Pass every schedule of a user to the action in (fromDate, id) order without
+     * loading them all. Rows are read from an open result set with the configured
+     * fetch size and detached once handled, so memory use does not grow with the
+     * user's history; the connection is held until the action has seen the last row.
+     */
+    @Transactional(readOnly = true)
+    public void forEachScheduleByUserId(Long userId, Consumer<Schedule> action) {
+        try (Stream<Schedule> schedules = entityManager
+                .createQuery("SELECT s FROM Schedule s WHERE s.userId = :userId ORDER BY s.fromDate, s.id", Schedule.class)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, listingProperties.getStreamFetchSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            schedules.forEach(schedule -> {
+                action.accept(schedule);
+                entityManager.detach(schedule);
+            });
+        }
+    }
+    
     /**
      * Get schedules by activity ID
      */
@@ -75,25 +143,26 @@ public class ScheduleService {
     /**
      * Create a new schedule
      */
+    @Transactional
     public Schedule createSchedule(Schedule schedule) {
-        // Check for overlapping schedules
+        // Always checked against the database; the in-memory index may be stale
         List<Schedule> overlapping = scheduleRepository.findOverlappingSchedules(
             schedule.getUserId(),
-            schedule.getFromDate(),
-            schedule.getToDate(),
-            schedule.getFromTime(),
-            schedule.getToTime()
+            schedule.getStartAt(),
+            schedule.getEndAt()
         );
         
         if (!overlapping.isEmpty()) {
+            plannerMetrics.conflictDetected(PlannerMetrics.CREATE);
             throw new IllegalArgumentException("Schedule conflicts with existing schedule(s)");
         }
         
         Schedule savedSchedule = scheduleRepository.save(schedule);
+        scheduleConflictIndex.put(savedSchedule);
+        occupancyIndex.put(savedSchedule);
         
         // Process for SME activity grouping if the user can act as an SME (SME, SUPERVISOR, or LEAD)
-        User user = userRepository.findById(schedule.getUserId()).orElse(null);
-        if (user != null && canActAsSme(user)) {
+        if (isGroupedUser(savedSchedule.getUserId())) {
             smeActivityGroupService.processScheduleForGrouping(savedSchedule);
         }
         
@@ -101,8 +170,9 @@ public class ScheduleService {
     }
     
     /**
-     * Update an existing schedule
+     * Update an existing schedule, moving its contribution to the SME activity groupings
      */
+    @Transactional
     public Schedule updateSchedule(Long id, Schedule updatedSchedule) {
         Optional<Schedule> existingSchedule = scheduleRepository.findById(id);
         
@@ -112,19 +182,31 @@ public class ScheduleService {
             // Check for overlapping schedules (excluding current schedule)
             List<Schedule> overlapping = scheduleRepository.findOverlappingSchedules(
                 updatedSchedule.getUserId(),
-                updatedSchedule.getFromDate(),
-                updatedSchedule.getToDate(),
-                updatedSchedule.getFromTime(),
-                updatedSchedule.getToTime()
+                updatedSchedule.getStartAt(),
+                updatedSchedule.getEndAt()
             );
             
             // Remove current schedule from overlapping list
             overlapping.removeIf(s -> s.getId().equals(id));
             
             if (!overlapping.isEmpty()) {
+                plannerMetrics.conflictDetected(PlannerMetrics.UPDATE);
                 throw new IllegalArgumentException("Updated schedule conflicts with existing schedule(s)");
             }
             
+            // Snapshot the values the activity grouping was built from before they change
+            Schedule previousSchedule = new Schedule(
+                schedule.getUserId(),
+                schedule.getFromDate(),
+                schedule.getToDate(),
+                schedule.getFromTime(),
+                schedule.getToTime(),
+                schedule.getActivityId(),
+                schedule.getActivityName(),
+                schedule.getDescription()
+            );
+            Long previousUserId = previousSchedule.getUserId();
+            
             // Update fields
             schedule.setUserId(updatedSchedule.getUserId());
             schedule.setFromDate(updatedSchedule.getFromDate());
@@ -135,58 +217,122 @@ public class ScheduleService {
             schedule.setActivityName(updatedSchedule.getActivityName());
             schedule.setDescription(updatedSchedule.getDescription());
             
-            return scheduleRepository.save(schedule);
+            Schedule savedSchedule = scheduleRepository.save(schedule);
+            if (!previousUserId.equals(savedSchedule.getUserId())) {
+                scheduleConflictIndex.remove(previousUserId, id);
+                occupancyIndex.remove(previousUserId, id);
+            }
+            scheduleConflictIndex.put(savedSchedule);
+            occupancyIndex.put(savedSchedule);
+            
+            if (isGroupedUser(savedSchedule.getUserId())) {
+                smeActivityGroupService.regroupSchedule(previousSchedule, savedSchedule);
+            } else {
+                smeActivityGroupService.reverseScheduleGrouping(previousSchedule);
+            }
+            return savedSchedule;
         } else {
             throw new IllegalArgumentException("Schedule not found with id: " + id);
         }
     }
     
     /**
-     * Delete a schedule
+     * Delete a schedule and remove its contribution from the SME activity groupings
      */
+    @Transactional
     public void deleteSchedule(Long id) {
-        if (scheduleRepository.existsById(id)) {
-            scheduleRepository.deleteById(id);
+        Optional<Schedule> existingSchedule = scheduleRepository.findById(id);
+        if (existingSchedule.isPresent()) {
+            smeActivityGroupService.reverseScheduleGrouping(existingSchedule.get());
+            scheduleRepository.delete(existingSchedule.get());
+            scheduleConflictIndex.remove(existingSchedule.get().getUserId(), id);
+            occupancyIndex.remove(existingSchedule.get().getUserId(), id);
         } else {
             throw new IllegalArgumentException("Schedule not found with id: " + id);
         }
     }
     
     /**
-     * Check if a user has any schedule conflicts
+     * Check if a user has any schedule conflicts. A free answer comes from the
+     * in-memory index; a conflict it reports is confirmed against the database, as
+     * the index may hold schedules that were removed without it seeing.
      */
     public boolean hasScheduleConflict(Long userId, LocalDate fromDate, LocalDate toDate, 
                                      LocalTime fromTime, LocalTime toTime) {
-        List<Schedule> overlapping = scheduleRepository.findOverlappingSchedules(
-            userId, fromDate, toDate, fromTime, toTime
-        );
-        return !overlapping.isEmpty();
+        LocalDateTime startAt = fromDate.atTime(fromTime);
+        LocalDateTime endAt = toDate.atTime(toTime);
+        boolean conflict = scheduleConflictIndex.hasConflict(userId, startAt, endAt, null)
+            && !scheduleRepository.findOverlappingSchedules(userId, startAt, endAt).isEmpty();
+        if (conflict) {
+            plannerMetrics.conflictDetected(PlannerMetrics.CHECK);
+        }
+        return conflict;
     }
     
     /**
-     * Search for user availability based on specific date and time
+     * Search for user availability based on specific date and time.
+     * Users the {@link OccupancyIndex} finds free need no query; conflicts for the
+     * rest are loaded with one query per chunk of user IDs, then grouped in memory.
      */
     public List<UserAvailabilityResponse> searchUserAvailability(UserAvailabilitySearchRequest searchRequest) {
         List<User> usersToCheck = getUsersToCheck(searchRequest);
-        List<UserAvailabilityResponse> availabilityResponses = new ArrayList<>();
+        Map<Long, OccupancyIndex.Occupancy> occupancy = checkOccupancy(usersToCheck, searchRequest);
+        List<User> notFree = usersToCheck.stream()
+                .filter(user -> occupancy.get(user.getId()) != OccupancyIndex.Occupancy.FREE)
+                .collect(Collectors.toList());
+        Map<Long, List<Schedule>> conflictsByUser = findConflictsByUser(
+            notFree, searchRequest.getDate(), searchRequest.getFromTime(), searchRequest.getToTime()
+        );
+        plannerMetrics.availabilitySearched("team", usersToCheck.size(), notFree.size());
         
+        List<UserAvailabilityResponse> availabilityResponses = new ArrayList<>(usersToCheck.size());
         for (User user : usersToCheck) {
-            UserAvailabilityResponse availability = checkUserAvailability(
-                user, searchRequest.getDate(), searchRequest.getFromTime(), searchRequest.getToTime()
-            );
-            availabilityResponses.add(availability);
+            List<Schedule> conflictingSchedules = conflictsByUser.getOrDefault(user.getId(), List.of());
+            availabilityResponses.add(buildAvailabilityResponse(user, conflictingSchedules));
         }
         
         return availabilityResponses;
     }
     
     /**
-     * Search for available users only (filtered results)
+     * Search for available users only (filtered results). Users the {@link OccupancyIndex}
+     * finds free are available without a query; the rest, including those it finds
+     * busy, are checked against the database, as their schedules may have been removed
+     * without the index seeing.
      */
     public List<UserAvailabilityResponse> searchAvailableUsers(UserAvailabilitySearchRequest searchRequest) {
-        return searchUserAvailability(searchRequest).stream()
-                .filter(UserAvailabilityResponse::isAvailable)
+        List<User> usersToCheck = getUsersToCheck(searchRequest);
+        Map<Long, OccupancyIndex.Occupancy> occupancy = checkOccupancy(usersToCheck, searchRequest);
+        List<User> notFree = usersToCheck.stream()
+                .filter(user -> occupancy.get(user.getId()) != OccupancyIndex.Occupancy.FREE)
                 .collect(Collectors.toList());
+        Map<Long, List<Schedule>> conflictsByUser = findConflictsByUser(
+            notFree, searchRequest.getDate(), searchRequest.getFromTime(), searchRequest.getToTime()
+        );
+        plannerMetrics.availabilitySearched("available", usersToCheck.size(), notFree.size());
+        
+        List<UserAvailabilityResponse> availableUsers = new ArrayList<>();
+        for (User user : usersToCheck) {
+            if (occupancy.get(user.getId()) == OccupancyIndex.Occupancy.FREE
+                    || !conflictsByUser.containsKey(user.getId())) {
+                availableUsers.add(buildAvailabilityResponse(user, List.of()));
+            }
+        }
+        return availableUsers;
+    }
+    
+    /**
+     * Classify the search window for every user from the occupancy bitmaps
+     */
+    private Map<Long, OccupancyIndex.Occupancy> checkOccupancy(List<User> users,
+                                                               UserAvailabilitySearchRequest searchRequest) {
+        LocalDateTime startAt = searchRequest.getDate().atTime(searchRequest.getFromTime());
+        LocalDateTime endAt = searchRequest.getDate().atTime(searchRequest.getToTime());
+        List<Long> userIds = users.stream()
+                .map(User::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        return occupancyIndex.checkAll(userIds, startAt, endAt);
     }
     
     /**
@@ -201,10 +347,7 @@ public class ScheduleService {
         } 
         // If roles are specified, filter by roles
         else if (searchRequest.getRoles() != null && !searchRequest.getRoles().isEmpty()) {
-            users = new ArrayList<>();
-            for (UserRole role : searchRequest.getRoles()) {
-                users.addAll(userRepository.findByRole(role));
-            }
+            users = userRepository.findByRoleIn(searchRequest.getRoles());
         } 
         // Otherwise, get all users
         else {
@@ -215,15 +358,33 @@ public class ScheduleService {
     }
     
     /**
-     * Check availability for a specific user
+     * Load overlapping schedules for the given users in chunks of
+     * {@link #AVAILABILITY_QUERY_CHUNK_SIZE} IDs and group them by user ID
      */
-    private UserAvailabilityResponse checkUserAvailability(User user, LocalDate date, 
+    private Map<Long, List<Schedule>> findConflictsByUser(List<User> users, LocalDate date,
                                                          LocalTime fromTime, LocalTime toTime) {
-        // Find conflicting schedules
-        List<Schedule> conflictingSchedules = scheduleRepository.findOverlappingSchedules(
-            user.getId(), date, date, fromTime, toTime
-        );
+        List<Long> userIds = users.stream()
+                .map(User::getId)
+                .distinct()
+                .collect(Collectors.toList());
         
+        Map<Long, List<Schedule>> conflictsByUser = new HashMap<>();
+        for (int start = 0; start < userIds.size(); start += AVAILABILITY_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(start, Math.min(start + AVAILABILITY_QUERY_CHUNK_SIZE, userIds.size()));
+            List<Schedule> overlapping = scheduleRepository.findOverlappingSchedulesForUsers(
+                chunk, date.atTime(fromTime), date.atTime(toTime)
+            );
+            for (Schedule schedule : overlapping) {
+                conflictsByUser.computeIfAbsent(schedule.getUserId(), id -> new ArrayList<>()).add(schedule);
+            }
+        }
+        return conflictsByUser;
+    }
+    
+    /**
+     * Build the availability response for a user from their conflicting schedules
+     */
+    private UserAvailabilityResponse buildAvailabilityResponse(User user, List<Schedule> conflictingSchedules) {
         boolean isAvailable = conflictingSchedules.isEmpty();
         
         // Convert conflicting schedules to response format
@@ -256,12 +417,20 @@ public class ScheduleService {
         );
     }
     
+    /**
+     * Helper method to check if a user's schedules are tracked in SME activity groupings
+     */
+    private boolean isGroupedUser(Long userId) {
+        return userDirectory.findById(userId)
+            .map(user -> canActAsSme(user.getRole()))
+            .orElse(false);
+    }
+    
     /**
      * Helper method to check if a user can act as an SME
      * Since all supervisors and leads are also SMEs, this method checks for all three roles
      */
-    private boolean canActAsSme(User user) {
-        UserRole role = user.getRole();
+    private boolean canActAsSme(UserRole role) {
         return role == UserRole.SME || role == UserRole.SUPERVISOR || role == UserRole.LEAD;
     }
 }
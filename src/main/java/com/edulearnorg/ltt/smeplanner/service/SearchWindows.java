@@ -0,0 +1,44 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Limits and validation of the date range, daily window and team size shared by
+ * the slot search and the availability heatmap
+ */
+public final class SearchWindows {
+
+    public static final int MAX_RANGE_DAYS = 92;
+
+    // As many users as a slot search request may name
+    public static final int MAX_USERS = 200;
+
+    private SearchWindows() {
+    }
+
+    /**
+     * Reject a reversed date range or one longer than {@link #MAX_RANGE_DAYS}
+     */
+    public static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before or equal to end date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("The date range is limited to " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    /**
+     * Reject a daily window with only one bound, or whose start is not before its end
+     */
+    public static void validateDayWindow(LocalTime dayStartTime, LocalTime dayEndTime) {
+        if ((dayStartTime == null) != (dayEndTime == null)) {
+            throw new IllegalArgumentException("Day start time and day end time must be given together");
+        }
+        if (dayStartTime != null && !dayStartTime.isBefore(dayEndTime)) {
+            throw new IllegalArgumentException("Day start time must be before day end time");
+        }
+    }
+}
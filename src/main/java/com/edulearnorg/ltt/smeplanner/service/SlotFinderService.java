@@ -0,0 +1,214 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.edulearnorg.ltt.smeplanner.dto.AvailableSlotResponse;
+import com.edulearnorg.ltt.smeplanner.dto.SlotSearchRequest;
+import com.edulearnorg.ltt.smeplanner.repository.ScheduleRepository;
+import com.edulearnorg.ltt.smeplanner.repository.UserRepository;
+
+/**
+ * Finds the earliest time slots in which enough users of a team are free.
+ *
+ * The busy intervals of all searched users in the date range are loaded with one
+ * query and merged per user into sorted, disjoint ranges. A sweep then moves a
+ * candidate start forward through the range: when enough users are free for the
+ * whole slot it is returned and the sweep continues at its end, otherwise it jumps
+ * to the earliest end of an interval blocking one of the users, since no start
+ * before that can free anyone. Each step looks at one interval per user through
+ * pointers that only move forward, and there is at most one step per busy
+ * interval or returned slot.
+ * Schedules spanning several days are handled as one continuous interval.
+ */
+@Service
+public class SlotFinderService {
+
+    private static final int DEFAULT_MAX_RESULTS = 10;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final ScheduleRepository scheduleRepository;
+
+    private final UserRepository userRepository;
+
+    public SlotFinderService(ScheduleRepository scheduleRepository, UserRepository userRepository) {
+        this.scheduleRepository = scheduleRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Find the earliest non-overlapping slots, ordered by start time
+     */
+    public List<AvailableSlotResponse> findSlots(SlotSearchRequest request) {
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(request.getUserIds()));
+        int required = request.getRequiredCount() != null ? request.getRequiredCount() : userIds.size();
+        int maxResults = request.getMaxResults() != null ? request.getMaxResults() : DEFAULT_MAX_RESULTS;
+        long duration = request.getDurationMinutes() * 60L;
+        validate(request, userIds, required, duration);
+
+        LocalDateTime rangeStart = request.getStartDate().atStartOfDay();
+        LocalDateTime rangeEnd = request.getEndDate().plusDays(1).atStartOfDay();
+        DayWindow window = request.getDayStartTime() != null
+            ? new DayWindow(request.getDayStartTime().toSecondOfDay(), request.getDayEndTime().toSecondOfDay())
+            : null;
+
+        BusyTimeline[] timelines = loadTimelines(userIds, rangeStart, rangeEnd);
+        int[] positions = new int[timelines.length];
+        long end = toSeconds(rangeEnd);
+        long start = toSeconds(rangeStart);
+
+        List<AvailableSlotResponse> slots = new ArrayList<>();
+        while (slots.size() < maxResults) {
+            if (window != null) {
+                start = window.firstStartFrom(start, duration);
+            }
+            long slotEnd = start + duration;
+            if (slotEnd > end) {
+                break;
+            }
+
+            List<Long> free = new ArrayList<>();
+            long nextStart = Long.MAX_VALUE;
+            for (int user = 0; user < timelines.length; user++) {
+                BusyTimeline timeline = timelines[user];
+                int position = positions[user];
+                while (position < timeline.size && timeline.ends[position] <= start) {
+                    position++;
+                }
+                positions[user] = position;
+
+                if (position < timeline.size && timeline.starts[position] < slotEnd) {
+                    nextStart = Math.min(nextStart, timeline.ends[position]);
+                } else {
+                    free.add(userIds.get(user));
+                }
+            }
+
+            if (free.size() >= required) {
+                slots.add(new AvailableSlotResponse(toDateTime(start), toDateTime(slotEnd), free));
+                start = slotEnd;
+            } else {
+                start = nextStart;
+            }
+        }
+        return slots;
+    }
+
+    private void validate(SlotSearchRequest request, List<Long> userIds, int required, long duration) {
+        SearchWindows.validateRange(request.getStartDate(), request.getEndDate());
+        if (required > userIds.size()) {
+            throw new IllegalArgumentException("Required count must not exceed the number of users");
+        }
+        SearchWindows.validateDayWindow(request.getDayStartTime(), request.getDayEndTime());
+        if (request.getDayStartTime() != null
+                && request.getDayEndTime().toSecondOfDay() - request.getDayStartTime().toSecondOfDay() < duration) {
+            throw new IllegalArgumentException("Duration must fit between day start time and day end time");
+        }
+        // One query for all users rather than a lookup per user
+        Set<Long> existing = new HashSet<>(userRepository.findExistingIds(userIds));
+        for (Long userId : userIds) {
+            if (!existing.contains(userId)) {
+                throw new IllegalArgumentException("User not found with id: " + userId);
+            }
+        }
+    }
+
+    /**
+     * Load the busy intervals of all users in the range and merge them per user
+     */
+    private BusyTimeline[] loadTimelines(List<Long> userIds, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        Map<Long, List<long[]>> intervalsByUser = new HashMap<>();
+        for (Object[] row : scheduleRepository.findOverlappingIntervalsForUsers(userIds, rangeStart, rangeEnd)) {
+            long start = toSeconds((LocalDateTime) row[1]);
+            long end = toSeconds((LocalDateTime) row[2]);
+            if (end > start) {
+                intervalsByUser.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(new long[] { start, end });
+            }
+        }
+
+        BusyTimeline[] timelines = new BusyTimeline[userIds.size()];
+        for (int user = 0; user < timelines.length; user++) {
+            timelines[user] = BusyTimeline.of(intervalsByUser.getOrDefault(userIds.get(user), List.of()));
+        }
+        return timelines;
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * A user's busy time as sorted, disjoint [start, end) ranges in epoch seconds
+     */
+    private static final class BusyTimeline {
+        private final long[] starts;
+        private final long[] ends;
+        private final int size;
+
+        private BusyTimeline(long[] starts, long[] ends, int size) {
+            this.starts = starts;
+            this.ends = ends;
+            this.size = size;
+        }
+
+        static BusyTimeline of(List<long[]> intervals) {
+            long[][] sorted = intervals.toArray(new long[0][]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(a[0], b[0]));
+
+            // Sweep in start order, extending the current range while the next one touches it
+            long[] starts = new long[sorted.length];
+            long[] ends = new long[sorted.length];
+            int size = 0;
+            for (long[] interval : sorted) {
+                if (size > 0 && interval[0] <= ends[size - 1]) {
+                    ends[size - 1] = Math.max(ends[size - 1], interval[1]);
+                } else {
+                    starts[size] = interval[0];
+                    ends[size] = interval[1];
+                    size++;
+                }
+            }
+            return new BusyTimeline(starts, ends, size);
+        }
+    }
+
+    /**
+     * Daily window [dayStart, dayEnd) in seconds of the day that slots must fall in
+     */
+    private static final class DayWindow {
+        private final long dayStart;
+        private final long dayEnd;
+
+        DayWindow(long dayStart, long dayEnd) {
+            this.dayStart = dayStart;
+            this.dayEnd = dayEnd;
+        }
+
+        /**
+         * The earliest start at or after the given time of a slot of the given length inside a window
+         */
+        long firstStartFrom(long time, long duration) {
+            long day = Math.floorDiv(time, SECONDS_PER_DAY) * SECONDS_PER_DAY;
+            long start = Math.max(time, day + dayStart);
+            if (start + duration > day + dayEnd) {
+                start = day + SECONDS_PER_DAY + dayStart;
+            }
+            return start;
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package com.edulearnorg.ltt.smeplanner.service;
 
+import com.edulearnorg.ltt.smeplanner.config.RollupProperties;
 import com.edulearnorg.ltt.smeplanner.entity.Activity;
 import com.edulearnorg.ltt.smeplanner.entity.Schedule;
 import com.edulearnorg.ltt.smeplanner.entity.SmeActivityGroup;
 import com.edulearnorg.ltt.smeplanner.enums.ActivityCategory;
-import com.edulearnorg.ltt.smeplanner.repository.ActivityRepository;
 import com.edulearnorg.ltt.smeplanner.repository.SmeActivityGroupRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -12,9 +12,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -28,37 +28,123 @@ public class SmeActivityGroupService {
     private SmeActivityGroupRepository smeActivityGroupRepository;
     
     @Autowired
-    private ActivityRepository activityRepository;
+    private ActivityCatalog activityCatalog;
+    
+    @Autowired
+    private ActivityGroupRollupBuffer rollupBuffer;
+    
+    @Autowired
+    private RollupProperties rollupProperties;
     
     private static final DateTimeFormatter MONTH_YEAR_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
     
     /**
-     * Process a schedule and update SME activity groupings
+     * Process a schedule and update SME activity groupings.
+     * The grouping is created or incremented with a single upsert so concurrent
+     * writes for the same SME, activity and month never lose an increment.
+     * In write-behind mode the change is buffered and written in a later batch.
      */
     public void processScheduleForGrouping(Schedule schedule) {
         String monthYear = schedule.getFromDate().format(MONTH_YEAR_FORMATTER);
+        if (rollupProperties.isWriteBehind()) {
+            rollupBuffer.add(schedule.getUserId(), schedule.getActivityId(), monthYear, 1, positiveHours(schedule));
+            return;
+        }
+        
+        int updated = smeActivityGroupRepository.upsertActivityTotals(
+            schedule.getUserId(),
+            schedule.getActivityId(),
+            monthYear,
+            1,
+            positiveHours(schedule)
+        );
+        
+        if (updated == 0) {
+            throw new RuntimeException("Activity not found: " + schedule.getActivityId());
+        }
+    }
+    
+    /**
+     * Process a batch of new schedules, applying one upsert per affected grouping
+     * instead of one per schedule
+     */
+    public void processSchedulesForGrouping(List<Schedule> schedules) {
+        Map<String, GroupTotals> totalsByGroup = new LinkedHashMap<>();
+        for (Schedule schedule : schedules) {
+            String monthYear = schedule.getFromDate().format(MONTH_YEAR_FORMATTER);
+            String key = schedule.getUserId() + ":" + schedule.getActivityId() + ":" + monthYear;
+            totalsByGroup.computeIfAbsent(key, k -> new GroupTotals(schedule.getUserId(), schedule.getActivityId(), monthYear))
+                .add(positiveHours(schedule));
+        }
+        
+        for (GroupTotals totals : totalsByGroup.values()) {
+            if (rollupProperties.isWriteBehind()) {
+                rollupBuffer.add(totals.smeUserId, totals.activityId, totals.monthYear, totals.sessions, totals.hours);
+                continue;
+            }
+            
+            int updated = smeActivityGroupRepository.upsertActivityTotals(
+                totals.smeUserId,
+                totals.activityId,
+                totals.monthYear,
+                totals.sessions,
+                totals.hours
+            );
+            
+            if (updated == 0) {
+                throw new RuntimeException("Activity not found: " + totals.activityId);
+            }
+        }
+    }
+    
+    /**
+     * Remove a schedule's contribution from its SME activity grouping.
+     * The grouping is deleted once it has no sessions left.
+     */
+    public void reverseScheduleGrouping(Schedule schedule) {
+        String monthYear = schedule.getFromDate().format(MONTH_YEAR_FORMATTER);
+        if (rollupProperties.isWriteBehind()) {
+            rollupBuffer.add(schedule.getUserId(), schedule.getActivityId(), monthYear, -1, -positiveHours(schedule));
+            return;
+        }
         
-        // Find or create activity group
-        SmeActivityGroup activityGroup = findOrCreateActivityGroup(
-            schedule.getUserId(), 
-            schedule.getActivityId(), 
-            monthYear
+        int updated = smeActivityGroupRepository.subtractActivityTotals(
+            schedule.getUserId(),
+            schedule.getActivityId(),
+            monthYear,
+            1,
+            positiveHours(schedule)
         );
         
-        // Calculate duration in hours
-        Double durationHours = calculateScheduleDuration(schedule);
+        if (updated > 0) {
+            smeActivityGroupRepository.deleteEmptyActivityGroup(schedule.getUserId(), schedule.getActivityId(), monthYear);
+        }
+    }
+    
+    /**
+     * Move an updated schedule's contribution from its previous grouping to its
+     * current one. Nothing is written when the user, activity, month and
+     * duration are all unchanged.
+     */
+    public void regroupSchedule(Schedule previous, Schedule current) {
+        boolean sameGrouping = previous.getUserId().equals(current.getUserId())
+            && previous.getActivityId().equals(current.getActivityId())
+            && previous.getFromDate().format(MONTH_YEAR_FORMATTER).equals(current.getFromDate().format(MONTH_YEAR_FORMATTER))
+            && calculateScheduleDuration(previous).equals(calculateScheduleDuration(current));
         
-        // Update the activity group
-        activityGroup.incrementSession();
-        activityGroup.addHours(durationHours);
+        if (sameGrouping) {
+            return;
+        }
         
-        smeActivityGroupRepository.save(activityGroup);
+        reverseScheduleGrouping(previous);
+        processScheduleForGrouping(current);
     }
     
     /**
      * Get all activity groups for a specific SME
      */
     public List<SmeActivityGroup> getActivityGroupsBySme(Long smeUserId) {
+        rollupBuffer.flushSme(smeUserId);
         return smeActivityGroupRepository.findBySmeUserId(smeUserId);
     }
     
@@ -66,6 +152,7 @@ public class SmeActivityGroupService {
      * Get activity groups for a specific SME and month
      */
     public List<SmeActivityGroup> getActivityGroupsBySmeAndMonth(Long smeUserId, String monthYear) {
+        rollupBuffer.flushSme(smeUserId);
         return smeActivityGroupRepository.findBySmeUserIdAndMonthYear(smeUserId, monthYear);
     }
     
@@ -73,6 +160,7 @@ public class SmeActivityGroupService {
      * Get activity distribution by category for a specific SME and month
      */
     public Map<ActivityCategory, ActivitySummary> getActivityDistribution(Long smeUserId, String monthYear) {
+        rollupBuffer.flushSme(smeUserId);
         List<Object[]> results = smeActivityGroupRepository.getActivityDistributionBySmeAndMonth(smeUserId, monthYear);
         
         return results.stream().collect(Collectors.toMap(
@@ -89,6 +177,7 @@ public class SmeActivityGroupService {
      * Get total hours allocated by SME for a specific month
      */
     public Double getTotalHoursBySmeAndMonth(Long smeUserId, String monthYear) {
+        rollupBuffer.flushSme(smeUserId);
         return smeActivityGroupRepository.getTotalHoursBySmeAndMonth(smeUserId, monthYear);
     }
     
@@ -96,6 +185,7 @@ public class SmeActivityGroupService {
      * Get total hours by category for a specific SME and month
      */
     public Double getTotalHoursByCategory(Long smeUserId, ActivityCategory category, String monthYear) {
+        rollupBuffer.flushSme(smeUserId);
         return smeActivityGroupRepository.getTotalHoursBySmeAndCategoryAndMonth(smeUserId, category, monthYear);
     }
     
@@ -103,44 +193,30 @@ public class SmeActivityGroupService {
      * Get all activities by category
      */
     public List<Activity> getActivitiesByCategory(ActivityCategory category) {
-        return activityRepository.findByCategory(category);
+        return activityCatalog.getByCategory(category);
     }
     
     /**
      * Get activities with fixed vs variable duration
      */
     public List<Activity> getActivitiesWithFixedDuration() {
-        return activityRepository.findByIsVariableDurationFalse();
+        return activityCatalog.getWithFixedDuration();
     }
     
     public List<Activity> getActivitiesWithVariableDuration() {
-        return activityRepository.findByIsVariableDurationTrue();
+        return activityCatalog.getWithVariableDuration();
     }
     
     /**
      * Get all SMEs active in a specific month
      */
     public List<Long> getActiveSmesByMonth(String monthYear) {
+        rollupBuffer.flushMonth(monthYear);
         return smeActivityGroupRepository.getActiveSmesByMonth(monthYear);
     }
 
     // Private helper methods
     
-    private SmeActivityGroup findOrCreateActivityGroup(Long smeUserId, Long activityId, String monthYear) {
-        Optional<SmeActivityGroup> existing = smeActivityGroupRepository
-            .findBySmeUserIdAndActivityIdAndMonthYear(smeUserId, activityId, monthYear);
-        
-        if (existing.isPresent()) {
-            return existing.get();
-        }
-        
-        // Create new activity group
-        Activity activity = activityRepository.findById(activityId)
-            .orElseThrow(() -> new RuntimeException("Activity not found: " + activityId));
-        
-        return new SmeActivityGroup(smeUserId, activityId, activity.getCategory(), monthYear);
-    }
-    
     private Double calculateScheduleDuration(Schedule schedule) {
         Duration duration = Duration.between(
             schedule.getFromTime().atDate(schedule.getFromDate()),
@@ -149,6 +225,33 @@ public class SmeActivityGroupService {
         return duration.toMinutes() / 60.0; // Convert to hours
     }
     
+    private double positiveHours(Schedule schedule) {
+        // Non-positive durations never counted towards the totals
+        return Math.max(calculateScheduleDuration(schedule), 0.0);
+    }
+    
+    /**
+     * Accumulated sessions and hours of one grouping within a batch
+     */
+    private static class GroupTotals {
+        private final Long smeUserId;
+        private final Long activityId;
+        private final String monthYear;
+        private int sessions;
+        private double hours;
+        
+        GroupTotals(Long smeUserId, Long activityId, String monthYear) {
+            this.smeUserId = smeUserId;
+            this.activityId = activityId;
+            this.monthYear = monthYear;
+        }
+        
+        void add(double scheduleHours) {
+            sessions++;
+            hours += scheduleHours;
+        }
+    }
+    
     /**
      * Inner class to represent activity summary
      */
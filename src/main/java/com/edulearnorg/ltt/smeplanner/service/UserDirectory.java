@@ -0,0 +1,158 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.edulearnorg.ltt.smeplanner.entity.User;
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+import com.edulearnorg.ltt.smeplanner.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Size-bounded, expiring cache of user identities in front of {@link UserRepository},
+ * keyed by id and by email.
+ *
+ * Entries are immutable snapshots rather than entities, so they can be shared across
+ * requests safely. {@link UserService} evicts a user synchronously whenever it creates,
+ * changes or deletes one, but only on this instance, so a cached entry can be up to
+ * {@code user-directory.time-to-live} behind a change made elsewhere. Request
+ * authentication therefore uses {@link #loadByEmail}, which always reads the database. Hit, miss and eviction counts are published as
+ * {@code cache.*} metrics under the names {@code userDirectoryById} and
+ * {@code userDirectoryByEmail}.
+ */
+@Component
+public class UserDirectory {
+
+    private final UserRepository userRepository;
+
+    private final Cache<Long, DirectoryUser> usersById;
+
+    private final Cache<String, DirectoryUser> usersByEmail;
+
+    public UserDirectory(UserRepository userRepository, MeterRegistry meterRegistry,
+                         @Value("${user-directory.maximum-size:10000}") long maximumSize,
+                         @Value("${user-directory.time-to-live:10m}") Duration timeToLive) {
+        this.userRepository = userRepository;
+        this.usersById = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        this.usersByEmail = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "userDirectoryById");
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "userDirectoryByEmail");
+    }
+
+    /**
+     * Find a user by id, loading and caching it on a miss. Missing users are not cached.
+     */
+    public Optional<DirectoryUser> findById(Long id) {
+        DirectoryUser cached = usersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findById(id).map(this::cache);
+    }
+
+    /**
+     * Find a user by email, loading and caching it on a miss. Missing users are not cached.
+     */
+    public Optional<DirectoryUser> findByEmail(String email) {
+        DirectoryUser cached = usersByEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findByEmail(email).map(this::cache);
+    }
+
+    /**
+     * Find a user by email in the database, bypassing the cache, and refresh the cached
+     * copy. For callers that must see a role change or deletion at once, such as the
+     * authentication of a request.
+     */
+    public Optional<DirectoryUser> loadByEmail(String email) {
+        Optional<DirectoryUser> user = userRepository.findByEmail(email).map(this::cache);
+        if (user.isEmpty()) {
+            usersByEmail.invalidate(email);
+        }
+        return user;
+    }
+
+    /**
+     * Check whether a user reports to the given supervisor
+     */
+    public boolean isReportee(Long userId, Long supervisorId) {
+        return findById(userId)
+            .map(user -> supervisorId.equals(user.getSupervisorId()))
+            .orElse(false);
+    }
+
+    /**
+     * Drop any cached copy of the user, under both keys
+     */
+    public void evict(Long id, String email) {
+        DirectoryUser cached = id != null ? usersById.getIfPresent(id) : null;
+        if (id != null) {
+            usersById.invalidate(id);
+        }
+        if (email != null) {
+            usersByEmail.invalidate(email);
+        }
+        if (cached != null && !cached.getEmail().equals(email)) {
+            usersByEmail.invalidate(cached.getEmail());
+        }
+    }
+
+    private DirectoryUser cache(User user) {
+        DirectoryUser entry = DirectoryUser.of(user);
+        usersById.put(entry.getId(), entry);
+        usersByEmail.put(entry.getEmail(), entry);
+        return entry;
+    }
+
+    /**
+     * Immutable snapshot of a user's identity and reporting line
+     */
+    public static final class DirectoryUser {
+        private final Long id;
+        private final String name;
+        private final String email;
+        private final UserRole role;
+        private final Long supervisorId;
+
+        private DirectoryUser(Long id, String name, String email, UserRole role, Long supervisorId) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+            this.role = role;
+            this.supervisorId = supervisorId;
+        }
+
+        static DirectoryUser of(User user) {
+            return new DirectoryUser(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getRole(),
+                user.getSupervisor() != null ? user.getSupervisor().getId() : null
+            );
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public String getEmail() { return email; }
+        public UserRole getRole() { return role; }
+        public Long getSupervisorId() { return supervisorId; }
+    }
+}
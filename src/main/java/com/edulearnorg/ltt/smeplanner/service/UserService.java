@@ -1,5 +1,6 @@
 package com.edulearnorg.ltt.smeplanner.service;
 
+import com.edulearnorg.ltt.smeplanner.config.TokenRevocationRegistry;
 import com.edulearnorg.ltt.smeplanner.entity.User;
 import com.edulearnorg.ltt.smeplanner.enums.UserRole;
 import com.edulearnorg.ltt.smeplanner.repository.UserRepository;
@@ -14,10 +15,15 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserDirectory userDirectory;
     
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       TokenRevocationRegistry tokenRevocationRegistry, UserDirectory userDirectory) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.userDirectory = userDirectory;
     }
     
     public List<User> getAllUsers() {
@@ -60,7 +66,9 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(password));
         user.setRole(role);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userDirectory.evict(savedUser.getId(), savedUser.getEmail());
+        return savedUser;
     }
     
     public User updateUserRole(Long userId, UserRole newRole) {
@@ -71,13 +79,21 @@ public class UserService {
         
         User user = userOptional.get();
         user.setRole(newRole);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userDirectory.evict(userId, savedUser.getEmail());
+        
+        // Existing tokens carry the old role
+        tokenRevocationRegistry.revokeTokens(userId);
+        return savedUser;
     }
     
     public void deleteUser(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        Optional<User> userOptional = userRepository.findById(userId);
+        if (userOptional.isEmpty()) {
             throw new RuntimeException("User not found");
         }
         userRepository.deleteById(userId);
+        userDirectory.evict(userId, userOptional.get().getEmail());
+        tokenRevocationRegistry.revokeTokens(userId);
     }
 }
@@ -1,6 +1,4 @@
--- Schema creation for L&TT SME Planner (MySQL)
-CREATE DATABASE IF NOT EXISTS `ltt-sme-planner`; 
-USE `ltt-sme-planner`; SHOW DATABASES;
+-- Initial schema for L&TT SME Planner (MySQL)
 -- Create Activities table
 CREATE TABLE IF NOT EXISTS activities (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -0,0 +1,16 @@
+-- Insert predefined activities with categories and durations based on the provided list
+INSERT INTO activities (name, description, category, duration_in_hours, is_variable_duration) VALUES 
+('Lateral Calendar Training Full Day', 'Full day lateral calendar training session', 'CALENDAR_TRAINING', 9.0, FALSE),
+('Lateral Calendar Training Half Day', 'Half day lateral calendar training session', 'CALENDAR_TRAINING', 4.5, FALSE),
+('Blended Learning', 'Blended learning sessions combining online and offline methods', 'BLENDED', 2.0, FALSE),
+('Adhoc Training', 'Adhoc training sessions as per requirements', 'ADHOC_TRAINING', 4.5, FALSE),
+('Byte sized', 'Short byte-sized learning sessions', 'BYTE_SIZED', 2.0, FALSE),
+('Content Development', 'Development of training content and materials', 'CONTENT_DEVELOPMENT', NULL, TRUE),
+('Evaluation', 'Evaluation and assessment activities', 'EVALUATION', NULL, TRUE),
+('Skill Upgrade', 'Skills upgrade and enhancement programs', 'SKILL_UPGRADE', NULL, TRUE),
+('Program and Session Planning', 'Planning and organizing training programs and sessions', 'MANAGEMENT', NULL, TRUE),
+('Public Holiday', 'Public holiday time off', 'TIME_OFF', NULL, TRUE),
+('Leave', 'Personal leave and time off', 'TIME_OFF', NULL, TRUE),
+('Location Holiday', 'Location-specific holiday time off', 'TIME_OFF', NULL, TRUE),
+('Optional Holiday', 'Optional holiday time off', 'TIME_OFF', NULL, TRUE),
+('Others', 'Miscellaneous activities not covered by other categories', 'MISCELLANEOUS', NULL, TRUE);
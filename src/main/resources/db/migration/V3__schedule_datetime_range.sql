@@ -0,0 +1,13 @@
+-- Derived datetime range for schedules; a schedule occupies [start_at, end_at)
+ALTER TABLE schedules
+    ADD COLUMN start_at DATETIME NULL AFTER to_time,
+    ADD COLUMN end_at DATETIME NULL AFTER start_at;
+
+UPDATE schedules
+SET start_at = TIMESTAMP(from_date, from_time),
+    end_at = TIMESTAMP(to_date, to_time);
+
+ALTER TABLE schedules
+    MODIFY start_at DATETIME NOT NULL,
+    MODIFY end_at DATETIME NOT NULL,
+    ADD INDEX idx_schedules_user_start_end (user_id, start_at, end_at);
@@ -0,0 +1,26 @@
+-- Secondary indexes for the repository queries
+
+-- ScheduleRepository.findByUserId, findByUserIdAndDateRange, findByUserIdsAndDate
+CREATE INDEX idx_schedules_user_dates ON schedules (user_id, from_date, to_date);
+
+-- ScheduleRepository.findByDateRange
+CREATE INDEX idx_schedules_dates ON schedules (from_date, to_date);
+
+-- SmeActivityGroupRepository.findBySmeUserIdAndMonthYear, getTotalHoursBySmeAndMonth,
+-- getActivityDistributionBySmeAndMonth (covering for the aggregates)
+CREATE INDEX idx_sag_sme_month_category
+    ON sme_activity_groups (sme_user_id, month_year, category, total_hours_allocated, total_sessions);
+
+-- SmeActivityGroupRepository.findBySmeUserIdAndCategory, getTotalHoursBySmeAndCategoryAndMonth
+CREATE INDEX idx_sag_sme_category_month
+    ON sme_activity_groups (sme_user_id, category, month_year, total_hours_allocated);
+
+-- SmeActivityGroupRepository.getActiveSmesByMonth (covering)
+CREATE INDEX idx_sag_month_sme ON sme_activity_groups (month_year, sme_user_id);
+
+-- SmeActivityGroupRepository.findByCategory
+CREATE INDEX idx_sag_category ON sme_activity_groups (category);
+
+-- UserRepository.findByRole, findByRoleIn, findBySupervisorIdAndRole
+CREATE INDEX idx_users_role ON users (role);
+CREATE INDEX idx_users_supervisor_role ON users (supervisor_id, role);
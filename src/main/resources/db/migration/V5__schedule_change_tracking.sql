@@ -0,0 +1,8 @@
+-- Microsecond updated_at and a covering index for ResourceVersions.schedulesTag,
+-- so two changes to a user's schedules within one second still yield different ETags
+
+ALTER TABLE schedules
+    MODIFY updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+-- ScheduleRepository.getScheduleVersionByUserId (covering)
+CREATE INDEX idx_schedules_user_updated ON schedules (user_id, updated_at);
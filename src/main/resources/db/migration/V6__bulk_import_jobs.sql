@@ -0,0 +1,21 @@
+-- Asynchronous bulk schedule imports; progress is committed together with each chunk
+-- so an interrupted job resumes after the last committed chunk
+CREATE TABLE IF NOT EXISTS bulk_import_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_requested INT NOT NULL,
+    processed INT NOT NULL DEFAULT 0,
+    created_count INT NOT NULL DEFAULT 0,
+    failed_count INT NOT NULL DEFAULT 0,
+    request_payload LONGTEXT NOT NULL,
+    errors LONGTEXT NOT NULL,
+    error_message VARCHAR(500),
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- BulkImportJobRepository.findByStatusIn
+CREATE INDEX idx_bulk_import_jobs_status ON bulk_import_jobs (status);
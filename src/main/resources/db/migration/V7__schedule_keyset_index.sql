@@ -0,0 +1,3 @@
+-- ScheduleRepository.findPageByUserId, findPageByUserIdAfter and ScheduleService.forEachScheduleByUserId
+-- read a user's schedules in (from_date, id) order straight from this index
+CREATE INDEX idx_schedules_user_from_id ON schedules (user_id, from_date, id);
@@ -0,0 +1,8 @@
+-- Microsecond updated_at and a covering index for ResourceVersions.effortTag,
+-- so two changes to a month's activity groups within one second still yield different ETags
+
+ALTER TABLE sme_activity_groups
+    MODIFY updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+-- SmeActivityGroupRepository.getEffortVersionByMonth (covering)
+CREATE INDEX idx_sag_month_updated ON sme_activity_groups (month_year, updated_at);
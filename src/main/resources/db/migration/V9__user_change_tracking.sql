@@ -0,0 +1,12 @@
+-- Microsecond updated_at on users and covering indexes for ResourceVersions.effortTag,
+-- so effort report ETags change when a reportee is added, renamed, reassigned or
+-- changes role, whichever instance made the change
+
+ALTER TABLE users
+    ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+-- SmeActivityGroupRepository.getEffortVersionByMonthAndSupervisor (covering)
+CREATE INDEX idx_users_supervisor_updated ON users (supervisor_id, updated_at);
+
+-- SmeActivityGroupRepository.getEffortVersionByMonth (covering)
+CREATE INDEX idx_users_updated ON users (updated_at);
@@ -1,20 +1,4 @@
--- Insert predefined activities with categories and durations based on the provided list
-INSERT INTO activities (name, description, category, duration_in_hours, is_variable_duration) VALUES 
-('Lateral Calendar Training Full Day', 'Full day lateral calendar training session', 'CALENDAR_TRAINING', 9.0, FALSE),
-('Lateral Calendar Training Half Day', 'Half day lateral calendar training session', 'CALENDAR_TRAINING', 4.5, FALSE),
-('Blended Learning', 'Blended learning sessions combining online and offline methods', 'BLENDED', 2.0, FALSE),
-('Adhoc Training', 'Adhoc training sessions as per requirements', 'ADHOC_TRAINING', 4.5, FALSE),
-('Byte sized', 'Short byte-sized learning sessions', 'BYTE_SIZED', 2.0, FALSE),
-('Content Development', 'Development of training content and materials', 'CONTENT_DEVELOPMENT', NULL, TRUE),
-('Evaluation', 'Evaluation and assessment activities', 'EVALUATION', NULL, TRUE),
-('Skill Upgrade', 'Skills upgrade and enhancement programs', 'SKILL_UPGRADE', NULL, TRUE),
-('Program and Session Planning', 'Planning and organizing training programs and sessions', 'MANAGEMENT', NULL, TRUE),
-('Public Holiday', 'Public holiday time off', 'TIME_OFF', NULL, TRUE),
-('Leave', 'Personal leave and time off', 'TIME_OFF', NULL, TRUE),
-('Location Holiday', 'Location-specific holiday time off', 'TIME_OFF', NULL, TRUE),
-('Optional Holiday', 'Optional holiday time off', 'TIME_OFF', NULL, TRUE),
-('Others', 'Miscellaneous activities not covered by other categories', 'MISCELLANEOUS', NULL, TRUE);
-
+-- Sample users, schedules and activity groups (repeatable: re-applied whenever this file changes)
 -- Insert sample users with different roles (password is 'password' encrypted with BCrypt)
 -- First, delete all existing users to ensure clean state
 DELETE FROM users;
@@ -30,12 +14,12 @@ INSERT INTO users (name, email, password, role, supervisor_id) VALUES ('John Doe
 INSERT INTO users (name, email, password, role, supervisor_id) VALUES ('Sarah Wilson', 'sarah.wilson@edulearnorg.com', '$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi', 'SME', 1);
 
 -- Insert sample schedules using the new predefined activities
-INSERT INTO schedules (user_id, from_date, to_date, from_time, to_time, activity_id, activity_name, description, created_at, updated_at) VALUES 
-(5, '2025-07-15', '2025-07-15', '09:00:00', '18:00:00', 1, 'Lateral Calendar Training Full Day', 'Full day Java Spring Boot Training', NOW(), NOW()),
-(5, '2025-07-16', '2025-07-16', '14:00:00', '16:00:00', 3, 'Blended Learning', 'Blended learning session on microservices', NOW(), NOW()),
-(1, '2025-07-15', '2025-07-15', '10:00:00', '14:30:00', 2, 'Lateral Calendar Training Half Day', 'React.js Half Day Training', NOW(), NOW()),
-(6, '2025-07-17', '2025-07-17', '13:00:00', '15:00:00', 5, 'Byte sized', 'Quick byte-sized session on Docker', NOW(), NOW()),
-(5, '2025-07-18', '2025-07-18', '10:00:00', '14:30:00', 4, 'Adhoc Training', 'Adhoc training on database optimization', NOW(), NOW());
+INSERT INTO schedules (user_id, from_date, to_date, from_time, to_time, start_at, end_at, activity_id, activity_name, description, created_at, updated_at) VALUES 
+(5, '2025-07-15', '2025-07-15', '09:00:00', '18:00:00', '2025-07-15 09:00:00', '2025-07-15 18:00:00', 1, 'Lateral Calendar Training Full Day', 'Full day Java Spring Boot Training', NOW(), NOW()),
+(5, '2025-07-16', '2025-07-16', '14:00:00', '16:00:00', '2025-07-16 14:00:00', '2025-07-16 16:00:00', 3, 'Blended Learning', 'Blended learning session on microservices', NOW(), NOW()),
+(1, '2025-07-15', '2025-07-15', '10:00:00', '14:30:00', '2025-07-15 10:00:00', '2025-07-15 14:30:00', 2, 'Lateral Calendar Training Half Day', 'React.js Half Day Training', NOW(), NOW()),
+(6, '2025-07-17', '2025-07-17', '13:00:00', '15:00:00', '2025-07-17 13:00:00', '2025-07-17 15:00:00', 5, 'Byte sized', 'Quick byte-sized session on Docker', NOW(), NOW()),
+(5, '2025-07-18', '2025-07-18', '10:00:00', '14:30:00', '2025-07-18 10:00:00', '2025-07-18 14:30:00', 4, 'Adhoc Training', 'Adhoc training on database optimization', NOW(), NOW());
 
 -- Insert sample SME activity groups for testing monthly effort details
 INSERT INTO sme_activity_groups (sme_user_id, activity_id, category, total_hours_allocated, total_sessions, month_year) VALUES 
@@ -0,0 +1,122 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.ResourceProvider;
+import org.flywaydb.core.api.resource.LoadableResource;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * Runs the Flyway migrations of {@code spring.flyway.locations} on H2 in MySQL mode
+ * for the {@code h2} profile of the integration tests and benchmarks, so their schema
+ * is always the production one. A migration with a file of the same name under
+ * {@code db/h2} is replaced by it; only V3 needs that.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("h2")
+public class H2MigrationConfig {
+
+    static final String OVERRIDE_LOCATION = "db/h2";
+
+    @Bean
+    FlywayConfigurationCustomizer h2MigrationOverrides() {
+        return configuration -> configuration.resourceProvider(
+            new OverridingResourceProvider(configuration.getLocations(), configuration.getEncoding()));
+    }
+
+    /**
+     * SQL files of the classpath locations by file name, with the overrides applied
+     */
+    static final class OverridingResourceProvider implements ResourceProvider {
+
+        private final Map<String, LoadableResource> resourcesByName = new TreeMap<>();
+
+        OverridingResourceProvider(Location[] locations, Charset encoding) {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+            try {
+                for (Location location : locations) {
+                    addAll(resolver, location.getRootPath(), encoding);
+                }
+                addAll(resolver, OVERRIDE_LOCATION, encoding);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void addAll(PathMatchingResourcePatternResolver resolver, String path, Charset encoding) throws IOException {
+            for (Resource resource : resolver.getResources("classpath*:" + path + "/*.sql")) {
+                resourcesByName.put(resource.getFilename(), new SqlResource(resource, encoding));
+            }
+        }
+
+        @Override
+        public LoadableResource getResource(String name) {
+            return resourcesByName.get(name.substring(name.lastIndexOf('/') + 1));
+        }
+
+        @Override
+        public Collection<LoadableResource> getResources(String prefix, String[] suffixes) {
+            return resourcesByName.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix)
+                    && Arrays.stream(suffixes).anyMatch(entry.getKey()::endsWith))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static final class SqlResource extends LoadableResource {
+
+        private final Resource resource;
+
+        private final Charset encoding;
+
+        SqlResource(Resource resource, Charset encoding) {
+            this.resource = resource;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public Reader read() {
+            try {
+                return new InputStreamReader(resource.getInputStream(), encoding);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public String getAbsolutePath() {
+            return resource.getDescription();
+        }
+
+        @Override
+        public String getAbsolutePathOnDisk() {
+            return resource.getDescription();
+        }
+
+        @Override
+        public String getFilename() {
+            return resource.getFilename();
+        }
+
+        @Override
+        public String getRelativePath() {
+            return resource.getFilename();
+        }
+    }
+}
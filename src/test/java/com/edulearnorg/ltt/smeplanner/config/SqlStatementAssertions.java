@@ -0,0 +1,53 @@
+package com.edulearnorg.ltt.smeplanner.config;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.function.Supplier;
+
+/**
+ * Statement budgets for integration tests, measured with {@link SqlStatementCounter}
+ * on the calling thread
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Run the action and fail, listing the most repeated statement shapes, if it issued
+     * more than {@code maxQueries} statements
+     */
+    public static <T> T assertMaxQueries(SqlStatementCounter counter, int maxQueries, Supplier<T> action) {
+        T result;
+        SqlStatementCounter.Scope scope = counter.open();
+        try {
+            result = action.get();
+        } finally {
+            scope.close();
+        }
+        if (scope.getCount() > maxQueries) {
+            StringBuilder message = new StringBuilder("Expected at most " + maxQueries
+                + " SQL statements but " + scope.getCount() + " were executed:");
+            scope.getTopShapes(10).forEach((shape, count) -> message.append("\n  ").append(count).append(" x ").append(shape));
+            fail(message.toString());
+        }
+        return result;
+    }
+
+    public static void assertMaxQueries(SqlStatementCounter counter, int maxQueries, Runnable action) {
+        assertMaxQueries(counter, maxQueries, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Number of statements the action issued
+     */
+    public static int countQueries(SqlStatementCounter counter, Runnable action) {
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            action.run();
+            return scope.getCount();
+        }
+    }
+}
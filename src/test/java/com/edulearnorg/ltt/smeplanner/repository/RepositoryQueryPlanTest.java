@@ -0,0 +1,328 @@
+package com.edulearnorg.ltt.smeplanner.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.edulearnorg.ltt.smeplanner.enums.ActivityCategory;
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Runs every query method declared on {@link ScheduleRepository} and
+ * {@link SmeActivityGroupRepository}, both {@code @Query} and derived from the
+ * method name, against MySQL, captures the SQL and bind values Hibernate sends,
+ * and fails if EXPLAIN shows a full table scan ({@code type=ALL}) for any of them.
+ * A new query method is covered automatically once {@link #argument} knows how to
+ * fill its parameters.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final int SUPERVISORS = 40;
+
+    private static final int SMES_PER_SUPERVISOR = 30;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 7, 1);
+
+    /**
+     * Schedules go back six months so that a week of them is a small share of the
+     * table, as in production; with a single month a full scan would be the right plan.
+     */
+    private static final LocalDate HISTORY_START = FIRST_DAY.minusMonths(5);
+
+    private static final String MONTH_YEAR = "2025-07";
+
+    /**
+     * Queries for which a full scan of a table is the right plan, with the reason
+     */
+    private static final Map<String, String> ALLOWED_SCANS = Map.of(
+        "summarizeEffortByRoleAndMonth",
+        "The lead report lists every SME, and SMEs are nearly all users, so reading users in full beats the role index"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private SmeActivityGroupRepository smeActivityGroupRepository;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    private long leadId;
+
+    private final List<Long> supervisorIds = new ArrayList<>();
+
+    private final List<Long> smeIds = new ArrayList<>();
+
+    private long scheduleId;
+
+    @BeforeAll
+    void insertData() {
+        leadId = insertUser("lead-0", UserRole.LEAD, null);
+        for (int s = 0; s < SUPERVISORS; s++) {
+            long supervisorId = insertUser("supervisor-" + s, UserRole.SUPERVISOR, leadId);
+            supervisorIds.add(supervisorId);
+            for (int i = 0; i < SMES_PER_SUPERVISOR; i++) {
+                smeIds.add(insertUser("sme-" + s + "-" + i, UserRole.SME, supervisorId));
+            }
+        }
+
+        List<Object[]> schedules = new ArrayList<>();
+        List<Object[]> groups = new ArrayList<>();
+        for (int i = 0; i < smeIds.size(); i++) {
+            int[] sessionsByActivity = new int[15];
+            for (LocalDate day = HISTORY_START; day.isBefore(FIRST_DAY.plusMonths(1)); day = day.plusDays(1)) {
+                if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    continue;
+                }
+                int activityId = 1 + (i + day.getDayOfMonth()) % 14;
+                LocalDateTime startAt = day.atTime(9 + i % 8, 0);
+                schedules.add(new Object[] { smeIds.get(i), day, day, startAt.toLocalTime(), startAt.toLocalTime().plusHours(1),
+                    Timestamp.valueOf(startAt), Timestamp.valueOf(startAt.plusHours(1)), activityId });
+                if (!day.isBefore(FIRST_DAY)) {
+                    sessionsByActivity[activityId]++;
+                }
+            }
+            for (int activityId = 1; activityId < sessionsByActivity.length; activityId++) {
+                if (sessionsByActivity[activityId] > 0) {
+                    groups.add(new Object[] { smeIds.get(i), activityId, sessionsByActivity[activityId], activityId });
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO schedules (user_id, from_date, to_date, from_time, to_time, start_at, end_at, " +
+            "activity_id, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'Query plan test')", schedules);
+        jdbcTemplate.batchUpdate("INSERT INTO sme_activity_groups (sme_user_id, activity_id, category, total_hours_allocated, " +
+            "total_sessions, month_year) SELECT ?, id, category, ?, ?, '" + MONTH_YEAR + "' FROM activities WHERE id = ?",
+            groups.stream().map(row -> new Object[] { row[0], row[2], row[2], row[3] }).toList());
+        jdbcTemplate.execute("ANALYZE TABLE users, schedules, sme_activity_groups");
+
+        scheduleId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM schedules WHERE user_id = ?", Long.class, smeIds.get(0));
+    }
+
+    Stream<Method> queryMethods() {
+        return Stream.of(ScheduleRepository.class, SmeActivityGroupRepository.class)
+            .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+            .filter(method -> !method.isDefault() && !method.isSynthetic())
+            .sorted(Comparator.comparing(Method::getName));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queryMethods")
+    void queryDoesNotScanWholeTables(Method method) {
+        Object repository = method.getDeclaringClass() == ScheduleRepository.class ? scheduleRepository : smeActivityGroupRepository;
+        Object[] arguments = Arrays.stream(method.getParameters()).map(this::argument).toArray();
+
+        List<QueryInfo> statements = statementRecorder.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            try {
+                method.invoke(repository, arguments);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                status.setRollbackOnly();
+            }
+        }));
+        assertTrue(!statements.isEmpty(), "No SQL was executed for " + method.getName());
+
+        List<String> scans = new ArrayList<>();
+        for (QueryInfo statement : statements) {
+            for (Map<String, Object> row : explain(statement)) {
+                if ("ALL".equals(row.get("type"))) {
+                    scans.add(row.get("table") + " in " + statement.getQuery());
+                }
+            }
+        }
+        if (!scans.isEmpty() && !ALLOWED_SCANS.containsKey(method.getName())) {
+            fail(method.getName() + " scans whole tables: " + scans);
+        }
+    }
+
+    private List<Map<String, Object>> explain(QueryInfo statement) {
+        List<ParameterSetOperation> parameters = statement.getParametersList().isEmpty()
+            ? Collections.emptyList()
+            : statement.getParametersList().get(0);
+        return jdbcTemplate.query("EXPLAIN " + statement.getQuery(), preparedStatement -> bind(preparedStatement, parameters),
+            (resultSet, rowNumber) -> Map.of(
+                "table", String.valueOf(resultSet.getString("table")),
+                "type", String.valueOf(resultSet.getString("type"))));
+    }
+
+    private static void bind(PreparedStatement preparedStatement, List<ParameterSetOperation> parameters) {
+        for (ParameterSetOperation parameter : parameters) {
+            try {
+                parameter.getMethod().invoke(preparedStatement, parameter.getArgs());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Value for a repository method parameter, chosen by its {@code @Param} name (or
+     * its compiled name, for derived queries) so that every query selects a realistic
+     * slice of the data
+     */
+    private Object argument(Parameter parameter) {
+        if (parameter.getType() == Limit.class) {
+            return Limit.of(50);
+        }
+        Param param = parameter.getAnnotation(Param.class);
+        String name = param != null ? param.value() : parameter.getName();
+        switch (name) {
+            case "userId":
+            case "smeUserId":
+                return smeIds.get(0);
+            case "userIds":
+                return smeIds.subList(0, SMES_PER_SUPERVISOR);
+            case "supervisorId":
+                return supervisorIds.get(0);
+            case "id":
+                return scheduleId;
+            case "activityId":
+                return 1L;
+            case "fromDate":
+            case "startDate":
+            case "date":
+                return FIRST_DAY.plusDays(7);
+            case "endDate":
+                return FIRST_DAY.plusDays(13);
+            case "startAt":
+                return FIRST_DAY.plusDays(7).atTime(10, 0);
+            case "endAt":
+                return FIRST_DAY.plusDays(7).atTime(11, 0);
+            case "monthYear":
+                return MONTH_YEAR;
+            case "role":
+                return UserRole.SME;
+            case "category":
+            case "smeConnectCategory":
+                return ActivityCategory.MANAGEMENT;
+            case "byteSizedCategory":
+                return ActivityCategory.BYTE_SIZED;
+            case "lateralTrainingCategory":
+                return ActivityCategory.CALENDAR_TRAINING;
+            case "sessions":
+                return 1;
+            case "hours":
+                return 1.0;
+            default:
+                throw new IllegalArgumentException("No test value for parameter '" + name
+                    + "' of " + parameter.getDeclaringExecutable().getName() + "; add one to argument()");
+        }
+    }
+
+    private long insertUser(String name, UserRole role, Long supervisorId) {
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role, supervisor_id) VALUES (?, ?, 'x', ?, ?)",
+            name, name + "@plan.test", role.name(), supervisorId);
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                            .listener(StatementRecorder.LISTENER)
+                            .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Collects the statements executed on the current thread while recording
+     */
+    static class StatementRecorder {
+
+        private static final ThreadLocal<List<QueryInfo>> RECORDED = new ThreadLocal<>();
+
+        static final QueryExecutionListener LISTENER = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                List<QueryInfo> recorded = RECORDED.get();
+                if (recorded != null) {
+                    recorded.addAll(queryInfoList);
+                }
+            }
+        };
+
+        List<QueryInfo> record(Runnable action) {
+            List<QueryInfo> recorded = new ArrayList<>();
+            RECORDED.set(recorded);
+            try {
+                action.run();
+            } finally {
+                RECORDED.remove();
+            }
+            return recorded;
+        }
+    }
+}
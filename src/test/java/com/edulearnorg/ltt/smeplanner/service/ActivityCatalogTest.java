@@ -0,0 +1,57 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.edulearnorg.ltt.smeplanner.entity.Activity;
+import com.edulearnorg.ltt.smeplanner.enums.ActivityCategory;
+import com.edulearnorg.ltt.smeplanner.repository.ActivityRepository;
+
+class ActivityCatalogTest {
+
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+
+    @Test
+    void activityCreatedElsewhereIsFoundOnMiss() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity(1L, "Training")));
+        ActivityCatalog catalog = new ActivityCatalog(activityRepository, Duration.ofMinutes(5));
+        long version = catalog.getVersion();
+
+        when(activityRepository.findAll()).thenReturn(List.of(activity(1L, "Training"), activity(2L, "Review")));
+        when(activityRepository.existsById(2L)).thenReturn(true);
+
+        assertTrue(catalog.exists(2L));
+        assertEquals(version + 1, catalog.getVersion());
+        assertFalse(catalog.exists(3L));
+        verify(activityRepository, times(2)).findAll();
+    }
+
+    @Test
+    void staleSnapshotIsRefreshedAndKeepsItsVersionWhenUnchanged() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity(1L, "Training")));
+        ActivityCatalog catalog = new ActivityCatalog(activityRepository, Duration.ZERO);
+        long version = catalog.getVersion();
+
+        assertEquals(version, catalog.getVersion());
+
+        when(activityRepository.findAll()).thenReturn(List.of(activity(1L, "Workshop")));
+        assertEquals("Workshop", catalog.getAll().get(0).getName());
+        assertEquals(version + 1, catalog.getVersion());
+    }
+
+    private static Activity activity(Long id, String name) {
+        Activity activity = new Activity(name, "Description", ActivityCategory.values()[0], 1.0, false);
+        activity.setId(id);
+        return activity;
+    }
+}
@@ -0,0 +1,62 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.edulearnorg.ltt.smeplanner.dto.AvailabilityHeatmapRequest;
+import com.edulearnorg.ltt.smeplanner.enums.UserRole;
+import com.edulearnorg.ltt.smeplanner.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AvailabilityHeatmapServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 7, 15);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final OccupancyIndex occupancyIndex = mock(OccupancyIndex.class);
+    private final AvailabilityHeatmapService heatmapService = new AvailabilityHeatmapService(userRepository,
+        mock(UserDirectory.class), occupancyIndex, new PlannerMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void teamLargerThanASlotSearchIsRejected() {
+        List<Long> team = LongStream.rangeClosed(1, SearchWindows.MAX_USERS + 1).boxed().toList();
+        when(userRepository.findIdsByRoleIn(anyCollection(), any())).thenReturn(team);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> heatmapService.getHeatmap(request(DAY, DAY)));
+
+        assertEquals("The team is limited to 200 users; choose a supervisor or fewer roles", error.getMessage());
+        verify(occupancyIndex, never()).countFree(anyList(), any(), any(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void rangeIsLimitedAsForASlotSearch() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> heatmapService.getHeatmap(request(DAY, DAY.plusDays(SearchWindows.MAX_RANGE_DAYS))));
+
+        assertEquals("The date range is limited to 92 days", error.getMessage());
+    }
+
+    private static AvailabilityHeatmapRequest request(LocalDate startDate, LocalDate endDate) {
+        AvailabilityHeatmapRequest request = new AvailabilityHeatmapRequest();
+        request.setRoles(List.of(UserRole.SME));
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        return request;
+    }
+}
@@ -0,0 +1,162 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.edulearnorg.ltt.smeplanner.config.OccupancyProperties;
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+import com.edulearnorg.ltt.smeplanner.repository.ScheduleRepository;
+import com.edulearnorg.ltt.smeplanner.service.OccupancyIndex.Occupancy;
+
+class OccupancyIndexTest {
+
+    private static final Long USER_ID = 7L;
+    private static final Long OTHER_USER_ID = 8L;
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+    private final OccupancyProperties properties = new OccupancyProperties();
+    private final List<Object[]> rows = new ArrayList<>();
+    private OccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(scheduleRepository.findOverlappingScheduleIntervalsForUsers(anyList(), any(), any()))
+            .thenAnswer(invocation -> List.copyOf(rows));
+        index = new OccupancyIndex(scheduleRepository, properties);
+    }
+
+    @Test
+    void windowsAreClassifiedAtQuantumResolution() {
+        addRow(1L, USER_ID, DAY.atTime(10, 0), DAY.atTime(10, 20));
+
+        // The 10:00 quantum lies wholly inside the window
+        assertEquals(Occupancy.BUSY, check(USER_ID, DAY.atTime(9, 0), DAY.atTime(10, 15)));
+        // Only the partially covered 10:15 quantum is set
+        assertEquals(Occupancy.UNKNOWN, check(USER_ID, DAY.atTime(10, 20), DAY.atTime(11, 0)));
+        // Only partially covered quanta, both set
+        assertEquals(Occupancy.UNKNOWN, check(USER_ID, DAY.atTime(9, 50), DAY.atTime(10, 5)));
+        assertEquals(Occupancy.FREE, check(USER_ID, DAY.atTime(10, 30), DAY.atTime(11, 0)));
+        // Half-open: a window ending where the schedule starts touches none of its quanta
+        assertEquals(Occupancy.FREE, check(USER_ID, DAY.atTime(9, 0), DAY.atTime(10, 0)));
+    }
+
+    @Test
+    void emptyOrOutOfRangeWindowsAreUnknown() {
+        assertEquals(Occupancy.UNKNOWN, check(USER_ID, DAY.atTime(10, 0), DAY.atTime(10, 0)));
+        LocalDate beyond = LocalDate.now().plusDays(properties.getFutureDays() + 2L);
+        assertEquals(Occupancy.UNKNOWN, check(USER_ID, beyond.atTime(10, 0), beyond.atTime(11, 0)));
+    }
+
+    @Test
+    void multiDaySchedulesOccupyBothDays() {
+        addRow(1L, USER_ID, DAY.atTime(22, 0), DAY.plusDays(1).atTime(2, 0));
+
+        assertEquals(Occupancy.BUSY, check(USER_ID, DAY.atTime(23, 0), DAY.atTime(23, 30)));
+        assertEquals(Occupancy.BUSY, check(USER_ID, DAY.plusDays(1).atTime(0, 0), DAY.plusDays(1).atTime(1, 0)));
+        assertEquals(Occupancy.FREE, check(USER_ID, DAY.plusDays(1).atTime(2, 0), DAY.plusDays(1).atTime(3, 0)));
+    }
+
+    @Test
+    void removingAScheduleKeepsQuantaSharedWithAnother() {
+        addRow(1L, USER_ID, DAY.atTime(10, 0), DAY.atTime(10, 20));
+        addRow(2L, USER_ID, DAY.atTime(10, 20), DAY.atTime(10, 45));
+        check(USER_ID, DAY.atTime(10, 0), DAY.atTime(11, 0));
+
+        index.remove(USER_ID, 1L);
+        assertEquals(Occupancy.FREE, check(USER_ID, DAY.atTime(10, 0), DAY.atTime(10, 15)));
+        assertEquals(Occupancy.BUSY, check(USER_ID, DAY.atTime(10, 15), DAY.atTime(10, 30)));
+
+        index.remove(USER_ID, 2L);
+        assertEquals(Occupancy.FREE, check(USER_ID, DAY.atTime(10, 0), DAY.atTime(11, 0)));
+        verify(scheduleRepository, times(1)).findOverlappingScheduleIntervalsForUsers(anyList(), any(), any());
+    }
+
+    @Test
+    void putUpdatesALoadedBitmap() {
+        check(USER_ID, DAY.atTime(10, 0), DAY.atTime(11, 0));
+
+        index.put(schedule(3L, USER_ID, DAY.atTime(14, 0), DAY.atTime(15, 0)));
+        assertEquals(Occupancy.BUSY, check(USER_ID, DAY.atTime(14, 0), DAY.atTime(15, 0)));
+
+        // Moving the schedule clears its old quanta
+        index.put(schedule(3L, USER_ID, DAY.atTime(16, 0), DAY.atTime(17, 0)));
+        assertEquals(Occupancy.FREE, check(USER_ID, DAY.atTime(14, 0), DAY.atTime(15, 0)));
+        assertEquals(Occupancy.BUSY, check(USER_ID, DAY.atTime(16, 0), DAY.atTime(17, 0)));
+    }
+
+    @Test
+    void busySlotsAreCountedOncePerUser() {
+        // Two busy quanta in the 09:00 slot, one at the end of the 10:00 slot
+        addRow(1L, USER_ID, DAY.atTime(9, 0), DAY.atTime(9, 15));
+        addRow(2L, USER_ID, DAY.atTime(9, 30), DAY.atTime(9, 45));
+        addRow(3L, OTHER_USER_ID, DAY.atTime(10, 45), DAY.atTime(11, 0));
+
+        int[][] free = index.countFree(List.of(USER_ID, OTHER_USER_ID), DAY, DAY.plusDays(1),
+            9 * 60 / OccupancyIndex.QUANTUM_MINUTES, 60 / OccupancyIndex.QUANTUM_MINUTES, 3);
+
+        assertArrayEquals(new int[] { 1, 1, 2 }, free[0]);
+        assertArrayEquals(new int[] { 2, 2, 2 }, free[1]);
+    }
+
+    @Test
+    void loadRacingAWriteIsNotCached() {
+        addRow(1L, USER_ID, DAY.atTime(10, 0), DAY.atTime(11, 0));
+        AtomicInteger loads = new AtomicInteger();
+        when(scheduleRepository.findOverlappingScheduleIntervalsForUsers(anyList(), any(), any()))
+            .thenAnswer(invocation -> {
+                List<Object[]> read = List.copyOf(rows);
+                if (loads.incrementAndGet() == 1) {
+                    // The schedule is deleted after the first load read it
+                    rows.clear();
+                    index.remove(USER_ID, 1L);
+                }
+                return read;
+            });
+
+        assertEquals(Occupancy.FREE, check(USER_ID, DAY.atTime(10, 0), DAY.atTime(11, 0)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void bitmapsOlderThanMaxAgeAreReloaded() throws InterruptedException {
+        properties.setMaxAgeMinutes(0);
+        addRow(1L, USER_ID, DAY.atTime(10, 0), DAY.atTime(11, 0));
+        assertEquals(Occupancy.BUSY, check(USER_ID, DAY.atTime(10, 0), DAY.atTime(11, 0)));
+
+        // Deleted through another instance
+        rows.clear();
+        Thread.sleep(2);
+        assertEquals(Occupancy.FREE, check(USER_ID, DAY.atTime(10, 0), DAY.atTime(11, 0)));
+    }
+
+    private Occupancy check(Long userId, LocalDateTime startAt, LocalDateTime endAt) {
+        return index.check(userId, startAt, endAt);
+    }
+
+    private void addRow(Long id, Long userId, LocalDateTime startAt, LocalDateTime endAt) {
+        rows.add(new Object[] { id, userId, startAt, endAt });
+    }
+
+    private static Schedule schedule(Long id, Long userId, LocalDateTime startAt, LocalDateTime endAt) {
+        Schedule schedule = new Schedule(userId, startAt.toLocalDate(), endAt.toLocalDate(),
+            startAt.toLocalTime(), endAt.toLocalTime(), 1L, "Training", "Session");
+        schedule.setId(id);
+        return schedule;
+    }
+}
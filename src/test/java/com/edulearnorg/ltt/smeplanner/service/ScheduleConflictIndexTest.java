@@ -0,0 +1,109 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.edulearnorg.ltt.smeplanner.entity.Schedule;
+import com.edulearnorg.ltt.smeplanner.repository.ScheduleRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ScheduleConflictIndexTest {
+
+    private static final Long USER_ID = 7L;
+    private static final LocalDate DAY = LocalDate.of(2025, 7, 15);
+
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+
+    @Test
+    void overlapIsHalfOpen() {
+        when(scheduleRepository.findByUserId(USER_ID)).thenReturn(List.of(schedule(1L, 10, 11)));
+        ScheduleConflictIndex index = index(Duration.ofMinutes(5));
+
+        assertTrue(index.hasConflict(USER_ID, at(10, 30), at(12, 0), null));
+        assertFalse(index.hasConflict(USER_ID, at(11, 0), at(12, 0), null));
+        assertFalse(index.hasConflict(USER_ID, at(9, 0), at(10, 0), null));
+        assertFalse(index.hasConflict(USER_ID, at(10, 0), at(11, 0), 1L));
+    }
+
+    @Test
+    void loadIsCachedAndKeptInSyncByWrites() {
+        when(scheduleRepository.findByUserId(USER_ID)).thenReturn(List.of(schedule(1L, 10, 11)));
+        ScheduleConflictIndex index = index(Duration.ofMinutes(5));
+
+        assertTrue(index.hasConflict(USER_ID, at(10, 0), at(11, 0), null));
+        index.remove(USER_ID, 1L);
+        index.put(schedule(2L, 14, 15));
+
+        assertFalse(index.hasConflict(USER_ID, at(10, 0), at(11, 0), null));
+        assertTrue(index.hasConflict(USER_ID, at(14, 30), at(16, 0), null));
+        verify(scheduleRepository, times(1)).findByUserId(USER_ID);
+    }
+
+    @Test
+    void loadRacingAWriteIsNotCached() {
+        ScheduleConflictIndex index = index(Duration.ofMinutes(5));
+        when(scheduleRepository.findByUserId(USER_ID)).thenAnswer(invocation -> {
+            // The schedule is deleted after the load read it but before the load finished
+            index.remove(USER_ID, 1L);
+            return List.of(schedule(1L, 10, 11));
+        });
+
+        index.hasConflict(USER_ID, at(10, 0), at(11, 0), null);
+        index.hasConflict(USER_ID, at(10, 0), at(11, 0), null);
+
+        verify(scheduleRepository, times(2)).findByUserId(USER_ID);
+    }
+
+    @Test
+    void writeToAnotherUserDoesNotPreventCaching() {
+        ScheduleConflictIndex index = index(Duration.ofMinutes(5));
+        when(scheduleRepository.findByUserId(USER_ID)).thenAnswer(invocation -> {
+            index.remove(USER_ID + 1, 1L);
+            return List.of(schedule(1L, 10, 11));
+        });
+
+        index.hasConflict(USER_ID, at(10, 0), at(11, 0), null);
+        index.hasConflict(USER_ID, at(10, 0), at(11, 0), null);
+
+        verify(scheduleRepository, times(1)).findByUserId(USER_ID);
+    }
+
+    @Test
+    void intervalsOlderThanMaxAgeAreReloaded() {
+        when(scheduleRepository.findByUserId(USER_ID)).thenReturn(List.of(schedule(1L, 10, 11)));
+        ScheduleConflictIndex index = index(Duration.ZERO);
+
+        index.hasConflict(USER_ID, at(10, 0), at(11, 0), null);
+        index.hasConflict(USER_ID, at(10, 0), at(11, 0), null);
+
+        verify(scheduleRepository, times(2)).findByUserId(USER_ID);
+    }
+
+    private ScheduleConflictIndex index(Duration maxAge) {
+        return new ScheduleConflictIndex(scheduleRepository, new SimpleMeterRegistry(), 100, maxAge);
+    }
+
+    private static Schedule schedule(Long id, int fromHour, int toHour) {
+        Schedule schedule = new Schedule(USER_ID, DAY, DAY, LocalTime.of(fromHour, 0), LocalTime.of(toHour, 0),
+            1L, "Training", "Session");
+        schedule.setId(id);
+        return schedule;
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+}
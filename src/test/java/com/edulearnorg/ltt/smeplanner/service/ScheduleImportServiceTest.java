@@ -0,0 +1,57 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.edulearnorg.ltt.smeplanner.config.BulkImportProperties;
+import com.edulearnorg.ltt.smeplanner.dto.ScheduleImportRowResult;
+import com.edulearnorg.ltt.smeplanner.service.ScheduleImportService.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.validation.Validation;
+
+class ScheduleImportServiceTest {
+
+    private static final Long USER_ID = 5L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final ScheduleImportService importService = new ScheduleImportService(mock(BulkScheduleService.class),
+        new BulkImportProperties(), Validation.buildDefaultValidatorFactory().getValidator(), objectMapper);
+
+    @Test
+    void malformedRowIsReportedAgainstItself() throws IOException {
+        String input = """
+            {"userId":9,"fromDate":"2025-07-15","toDate":"2025-07-15","fromTime":"10:00:00","toTime":"11:00:00","activityId":1,"description":"Session"}
+            not json
+            """;
+
+        List<ScheduleImportRowResult> results = importNdjson(input);
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getRow());
+        assertEquals(ScheduleRequests.OWNERSHIP_ERROR, results.get(0).getMessage());
+        assertEquals(2, results.get(1).getRow());
+        assertEquals(ScheduleImportRowResult.FAILED, results.get(1).getStatus());
+        assertTrue(results.get(1).getMessage().startsWith("Malformed input"));
+    }
+
+    private List<ScheduleImportRowResult> importNdjson(String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        importService.importSchedules(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+            Format.NDJSON, USER_ID, output);
+        return objectMapper.readerFor(ScheduleImportRowResult.class)
+            .<ScheduleImportRowResult>readValues(output.toByteArray())
+            .readAll();
+    }
+}
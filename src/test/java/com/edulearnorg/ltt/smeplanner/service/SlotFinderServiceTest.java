@@ -0,0 +1,142 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.edulearnorg.ltt.smeplanner.dto.AvailableSlotResponse;
+import com.edulearnorg.ltt.smeplanner.dto.SlotSearchRequest;
+import com.edulearnorg.ltt.smeplanner.repository.ScheduleRepository;
+import com.edulearnorg.ltt.smeplanner.repository.UserRepository;
+
+class SlotFinderServiceTest {
+
+    private static final Long ALICE = 1L;
+    private static final Long BOB = 2L;
+    private static final Long CAROL = 3L;
+    private static final LocalDate DAY = LocalDate.of(2025, 7, 15);
+
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SlotFinderService slotFinderService = new SlotFinderService(scheduleRepository, userRepository);
+    private final List<Object[]> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(ALICE, BOB, CAROL));
+        when(scheduleRepository.findOverlappingIntervalsForUsers(anyList(), any(), any()))
+            .thenAnswer(invocation -> List.copyOf(rows));
+    }
+
+    @Test
+    void freeSlotsAreReturnedBackToBack() {
+        List<AvailableSlotResponse> slots = slotFinderService.findSlots(request(List.of(ALICE), DAY, 60, 3));
+
+        assertStarts(slots, DAY.atTime(0, 0), DAY.atTime(1, 0), DAY.atTime(2, 0));
+        assertEquals(DAY.atTime(1, 0), slots.get(0).getEndAt());
+    }
+
+    @Test
+    void touchingIntervalsAreMergedAndTheSweepJumpsPastThem() {
+        busy(ALICE, DAY.atTime(9, 0), DAY.atTime(10, 0));
+        busy(ALICE, DAY.atTime(10, 0), DAY.atTime(11, 0));
+        SlotSearchRequest request = request(List.of(ALICE), DAY, 60, 2);
+        request.setDayStartTime(LocalTime.of(9, 0));
+        request.setDayEndTime(LocalTime.of(18, 0));
+
+        assertStarts(slotFinderService.findSlots(request), DAY.atTime(11, 0), DAY.atTime(12, 0));
+    }
+
+    @Test
+    void scheduleSpanningDaysBlocksBoth() {
+        busy(ALICE, DAY.atTime(9, 0), DAY.plusDays(1).atTime(10, 0));
+        SlotSearchRequest request = request(List.of(ALICE), DAY, 60, 1);
+        request.setEndDate(DAY.plusDays(1));
+        request.setDayStartTime(LocalTime.of(9, 0));
+        request.setDayEndTime(LocalTime.of(18, 0));
+
+        assertStarts(slotFinderService.findSlots(request), DAY.plusDays(1).atTime(10, 0));
+    }
+
+    @Test
+    void slotNotFittingBeforeTheEndOfTheWindowMovesToTheNextDay() {
+        busy(ALICE, DAY.atTime(9, 0), DAY.atTime(16, 30));
+        SlotSearchRequest request = request(List.of(ALICE), DAY, 120, 2);
+        request.setEndDate(DAY.plusDays(1));
+        request.setDayStartTime(LocalTime.of(9, 0));
+        request.setDayEndTime(LocalTime.of(18, 0));
+
+        assertStarts(slotFinderService.findSlots(request), DAY.plusDays(1).atTime(9, 0), DAY.plusDays(1).atTime(11, 0));
+    }
+
+    @Test
+    void slotMustEndWithinTheRange() {
+        busy(ALICE, DAY.atTime(0, 0), DAY.atTime(23, 30));
+
+        assertTrue(slotFinderService.findSlots(request(List.of(ALICE), DAY, 60, 1)).isEmpty());
+    }
+
+    @Test
+    void someUsersMayBeBusyWhenFewerAreRequired() {
+        busy(ALICE, DAY.atTime(9, 0), DAY.atTime(12, 0));
+        busy(BOB, DAY.atTime(10, 0), DAY.atTime(11, 0));
+        SlotSearchRequest request = request(List.of(ALICE, BOB, CAROL), DAY, 60, 2);
+        request.setRequiredCount(2);
+        request.setDayStartTime(LocalTime.of(9, 0));
+        request.setDayEndTime(LocalTime.of(18, 0));
+
+        List<AvailableSlotResponse> slots = slotFinderService.findSlots(request);
+
+        // 10:00 has only Carol free, so the sweep jumps to 11:00, the earliest end of a blocking interval
+        assertStarts(slots, DAY.atTime(9, 0), DAY.atTime(11, 0));
+        assertEquals(List.of(BOB, CAROL), slots.get(0).getAvailableUserIds());
+        assertEquals(List.of(BOB, CAROL), slots.get(1).getAvailableUserIds());
+    }
+
+    @Test
+    void usersAreCheckedWithOneQuery() {
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(ALICE, CAROL));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> slotFinderService.findSlots(request(List.of(ALICE, BOB, CAROL), DAY, 60, 1)));
+
+        assertEquals("User not found with id: " + BOB, error.getMessage());
+        verify(userRepository, times(1)).findExistingIds(anyCollection());
+        verify(scheduleRepository, never()).findOverlappingIntervalsForUsers(anyList(), any(), any());
+    }
+
+    private void busy(Long userId, LocalDateTime startAt, LocalDateTime endAt) {
+        rows.add(new Object[] { userId, startAt, endAt });
+    }
+
+    private static SlotSearchRequest request(List<Long> userIds, LocalDate day, int durationMinutes, int maxResults) {
+        SlotSearchRequest request = new SlotSearchRequest();
+        request.setUserIds(userIds);
+        request.setStartDate(day);
+        request.setEndDate(day);
+        request.setDurationMinutes(durationMinutes);
+        request.setMaxResults(maxResults);
+        return request;
+    }
+
+    private static void assertStarts(List<AvailableSlotResponse> slots, LocalDateTime... starts) {
+        assertEquals(List.of(starts), slots.stream().map(AvailableSlotResponse::getStartAt).toList());
+    }
+}
@@ -0,0 +1,159 @@
+package com.edulearnorg.ltt.smeplanner.service;
+
+import static com.edulearnorg.ltt.smeplanner.config.SqlStatementAssertions.assertMaxQueries;
+import static com.edulearnorg.ltt.smeplanner.config.SqlStatementAssertions.countQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.edulearnorg.ltt.smeplanner.config.SqlStatementCounter;
+import com.edulearnorg.ltt.smeplanner.dto.ConsolidatedMonthlyEffortResponse;
+import com.edulearnorg.ltt.smeplanner.dto.UserAvailabilityResponse;
+import com.edulearnorg.ltt.smeplanner.dto.UserAvailabilitySearchRequest;
+
+/**
+ * Statement budgets for the consolidated effort reports and the availability
+ * searches, against the Flyway schema on embedded H2. Every SME has a schedule in
+ * the searched window, so the searches take their database path.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlStatementBudgetTest {
+
+    private static final String MONTH = "2025-07";
+    private static final int SUPERVISORS = 3;
+    private static final int SMES_PER_SUPERVISOR = 10;
+    private static final LocalDate SEARCH_DATE = LocalDate.now().plusDays(7);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private MonthlyEffortService monthlyEffortService;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    private Long supervisorId;
+    private final List<Long> smeIds = new ArrayList<>();
+
+    @BeforeAll
+    void createTeam() {
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role) VALUES ('Budget Lead', 'lead@budget.test', 'x', 'LEAD')");
+        Long leadId = idOf("lead@budget.test");
+        Long activityId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM activities", Long.class);
+        for (int s = 0; s < SUPERVISORS; s++) {
+            String supervisorEmail = "supervisor-" + s + "@budget.test";
+            jdbcTemplate.update("INSERT INTO users (name, email, password, role, supervisor_id) VALUES (?, ?, 'x', 'SUPERVISOR', ?)",
+                "Supervisor " + s, supervisorEmail, leadId);
+            Long currentSupervisorId = idOf(supervisorEmail);
+            if (supervisorId == null) {
+                supervisorId = currentSupervisorId;
+            }
+            for (int i = 0; i < SMES_PER_SUPERVISOR; i++) {
+                String smeEmail = "sme-" + s + "-" + i + "@budget.test";
+                jdbcTemplate.update("INSERT INTO users (name, email, password, role, supervisor_id) VALUES (?, ?, 'x', 'SME', ?)",
+                    "SME " + s + "-" + i, smeEmail, currentSupervisorId);
+                Long smeId = idOf(smeEmail);
+                smeIds.add(smeId);
+                jdbcTemplate.update("INSERT INTO sme_activity_groups (sme_user_id, activity_id, category, total_hours_allocated, total_sessions, month_year)"
+                    + " VALUES (?, ?, 'CALENDAR_TRAINING', 9.0, 1, ?)", smeId, activityId, MONTH);
+                jdbcTemplate.update("INSERT INTO schedules (user_id, from_date, to_date, from_time, to_time, start_at, end_at, activity_id, description)"
+                    + " VALUES (?, ?, ?, '10:00', '11:00', ?, ?, ?, 'Budget test')",
+                    smeId, SEARCH_DATE, SEARCH_DATE, SEARCH_DATE.atTime(10, 0), SEARCH_DATE.atTime(11, 0), activityId);
+            }
+        }
+    }
+
+    @BeforeEach
+    void evictOccupancy() {
+        // Measure the cold path, where the bitmaps are loaded as part of the search
+        occupancyIndex.evict(smeIds);
+    }
+
+    @Test
+    void supervisorEffortReportIsOneLookupAndOneSummaryQuery() {
+        ConsolidatedMonthlyEffortResponse response = assertMaxQueries(sqlStatementCounter, 2,
+            () -> monthlyEffortService.getConsolidatedMonthlyEffortDetails(supervisorId, MONTH));
+        assertEquals(SMES_PER_SUPERVISOR, response.getReportees().size());
+    }
+
+    @Test
+    void leadEffortReportIsOneSummaryQuery() {
+        ConsolidatedMonthlyEffortResponse response = assertMaxQueries(sqlStatementCounter, 1,
+            () -> monthlyEffortService.getConsolidatedMonthlyEffortDetailsForLead(MONTH));
+        assertFalse(response.getReportees().isEmpty());
+    }
+
+    @Test
+    void effortTagIsOneQueryAndChangesWithTheReportees() {
+        String supervisorTag = assertMaxQueries(sqlStatementCounter, 1,
+            () -> resourceVersions.effortTag(MONTH, supervisorId, supervisorId));
+        String leadTag = assertMaxQueries(sqlStatementCounter, 1,
+            () -> resourceVersions.effortTag(MONTH, supervisorId, null));
+
+        // A reportee renamed without going through this instance's services
+        jdbcTemplate.update("UPDATE users SET name = CONCAT(name, ' Jr') WHERE id = ?", smeIds.get(0));
+
+        assertNotEquals(supervisorTag, resourceVersions.effortTag(MONTH, supervisorId, supervisorId));
+        assertNotEquals(leadTag, resourceVersions.effortTag(MONTH, supervisorId, null));
+    }
+
+    @Test
+    void availabilitySearchDoesNotQueryPerUser() {
+        List<UserAvailabilityResponse> responses = assertMaxQueries(sqlStatementCounter, 3,
+            () -> scheduleService.searchUserAvailability(searchFor(smeIds)));
+        assertEquals(smeIds.size(), responses.size());
+        assertFalse(responses.get(0).isAvailable());
+    }
+
+    @Test
+    void availableUserSearchDoesNotQueryPerUser() {
+        List<UserAvailabilityResponse> responses = assertMaxQueries(sqlStatementCounter, 3,
+            () -> scheduleService.searchAvailableUsers(searchFor(smeIds)));
+        assertEquals(0, responses.size());
+    }
+
+    @Test
+    void availabilitySearchQueryCountDoesNotGrowWithTeamSize() {
+        List<Long> smallTeam = smeIds.subList(0, SMES_PER_SUPERVISOR / 2);
+        int smallTeamQueries = countQueries(sqlStatementCounter,
+            () -> scheduleService.searchUserAvailability(searchFor(smallTeam)));
+        occupancyIndex.evict(smeIds);
+        int fullTeamQueries = countQueries(sqlStatementCounter,
+            () -> scheduleService.searchUserAvailability(searchFor(smeIds)));
+        assertEquals(smallTeamQueries, fullTeamQueries);
+    }
+
+    private UserAvailabilitySearchRequest searchFor(List<Long> userIds) {
+        return new UserAvailabilitySearchRequest(SEARCH_DATE, LocalTime.of(10, 30), LocalTime.of(11, 30), null, userIds);
+    }
+
+    private Long idOf(String email) {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+}
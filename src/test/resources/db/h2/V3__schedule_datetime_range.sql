@@ -0,0 +1,14 @@
+-- H2 (MySQL mode) version of db/migration/V3, which adds both columns in one
+-- ALTER TABLE with AFTER clauses that H2 does not accept; the resulting schema is the same
+
+ALTER TABLE schedules ADD COLUMN start_at DATETIME NULL;
+ALTER TABLE schedules ADD COLUMN end_at DATETIME NULL;
+
+UPDATE schedules
+SET start_at = CAST(CONCAT(from_date, ' ', from_time) AS TIMESTAMP),
+    end_at = CAST(CONCAT(to_date, ' ', to_time) AS TIMESTAMP);
+
+ALTER TABLE schedules ALTER COLUMN start_at SET NOT NULL;
+ALTER TABLE schedules ALTER COLUMN end_at SET NOT NULL;
+
+CREATE INDEX idx_schedules_user_start_end ON schedules (user_id, start_at, end_at);